@@ -0,0 +1,165 @@
+package general;
+
+/**
+ * Set of the slots of a board, stored as one bit per slot in a few <code>long</code>s. Slots are numbered line by
+ * line, so each line of the board is a run of {@link BoardState#SIZE} consecutive bits. This allows checking whole
+ * lines, or shifting the whole set to find the neighbors of every slot at once, with a handful of operations.
+ */
+public class Bitboard {
+    public static final int SLOTS = BoardState.SIZE * BoardState.SIZE;
+    private static final int LINE_MASK = (1 << BoardState.SIZE) - 1;
+    private static final long LAST_WORD_MASK = -1L >>> (64 * ((SLOTS + 63) / 64) - SLOTS);
+    
+    /**
+     * Slots in the first and last position of a line.
+     */
+    private static final Bitboard FIRST = new Bitboard(), LAST = new Bitboard();
+    static {
+        for(int line = 0; line < BoardState.SIZE; line++) {
+            FIRST.set(line * BoardState.SIZE);
+            LAST.set(line * BoardState.SIZE + BoardState.SIZE - 1);
+        }
+    }
+    
+    private long[] bits;
+    
+    /**
+     * Creates an empty set.
+     */
+    public Bitboard() {
+        bits = new long[(SLOTS + 63) / 64];
+    }
+    
+    /**
+     * Creates a set with the same slots as the specified set.
+     *
+     * @param b The set to copy.
+     */
+    public Bitboard(Bitboard b) {
+        bits = b.bits.clone();
+    }
+    
+    public boolean get(int slot) {
+        return (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+    
+    public void set(int slot) {
+        bits[slot >>> 6] |= 1L << slot;
+    }
+    
+    public void clear(int slot) {
+        bits[slot >>> 6] &= ~(1L << slot);
+    }
+    
+    /**
+     * Returns the slots of the specified line, with the first slot of the line in the lowest bit.
+     *
+     * @param line The line, from 0 to {@link BoardState#SIZE} - 1.
+     * @return A mask with the bit <i>n</i> set if the slot <i>n</i> of the line is in the set.
+     */
+    public int getLine(int line) {
+        int start = line * BoardState.SIZE, word = start >>> 6, offset = start & 63;
+        long result = bits[word] >>> offset;
+        if(offset + BoardState.SIZE > 64) {
+            result |= bits[word + 1] << (64 - offset);	//The line continues in the next word
+        }
+        return (int) result & LINE_MASK;
+    }
+    
+    /**
+     * Returns the slots that are next to a slot of this set in the same line, or in the same position of the next or
+     * previous line.
+     *
+     * @return A new set with the neighbors of this set's slots. It may include slots of this set.
+     */
+    public Bitboard neighbors() {
+        Bitboard result = new Bitboard(this);
+        result.andNot(LAST);
+        result.shift(1);	//Next slot in the line, unless it was the last
+        Bitboard aux = new Bitboard(this);
+        aux.andNot(FIRST);
+        aux.shift(-1);		//Previous slot in the line, unless it was the first
+        result.or(aux);
+        aux = new Bitboard(this);
+        aux.shift(BoardState.SIZE);
+        result.or(aux);
+        aux = new Bitboard(this);
+        aux.shift(-BoardState.SIZE);
+        result.or(aux);
+        return result;
+    }
+    
+    /**
+     * Moves every slot of this set the specified amount of positions, dropping the slots that end up off the board.
+     *
+     * @param n The amount of positions to move forward, or backwards if negative.
+     */
+    public void shift(int n) {
+        int words = Math.abs(n) >>> 6, offset = Math.abs(n) & 63;
+        long[] result = new long[bits.length];
+        for(int i = 0; i < bits.length; i++) {
+            int from = n > 0 ? i - words : i + words;
+            long value = 0;
+            if(from >= 0 && from < bits.length) {
+                value = n > 0 ? bits[from] << offset : bits[from] >>> offset;
+            }
+            int carry = n > 0 ? from - 1 : from + 1;	//Word whose bits cross into this one
+            if(offset != 0 && carry >= 0 && carry < bits.length) {
+                value |= n > 0 ? bits[carry] >>> (64 - offset) : bits[carry] << (64 - offset);
+            }
+            result[i] = value;
+        }
+        result[result.length - 1] &= LAST_WORD_MASK;
+        bits = result;
+    }
+    
+    public void and(Bitboard b) {
+        for(int i = 0; i < bits.length; i++) {
+            bits[i] &= b.bits[i];
+        }
+    }
+    
+    public void or(Bitboard b) {
+        for(int i = 0; i < bits.length; i++) {
+            bits[i] |= b.bits[i];
+        }
+    }
+    
+    public void andNot(Bitboard b) {
+        for(int i = 0; i < bits.length; i++) {
+            bits[i] &= ~b.bits[i];
+        }
+    }
+    
+    public boolean isEmpty() {
+        for(long each : bits) {
+            if(each != 0) return false;
+        }
+        return true;
+    }
+    
+    public int cardinality() {
+        int result = 0;
+        for(long each : bits) {
+            result += Long.bitCount(each);
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the first slot of this set starting from the specified slot.
+     *
+     * @param from The slot to start searching from.
+     * @return The first slot in the set at or after {@code from}, or -1 if there is none.
+     */
+    public int nextSlot(int from) {
+        if(from >= SLOTS) return -1;
+        int word = from >>> 6;
+        long value = bits[word] & (-1L << from);
+        while(value == 0) {
+            if(++word == bits.length) return -1;
+            value = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(value);
+    }
+}
@@ -1,5 +1,10 @@
 package general;
 
+import java.util.Arrays;
+import java.util.Random;
+
+import utility.Dictionary;
+import utility.PackedWord;
 
 /**
  * Class designed to represent the board. It contains all slots with either spaces
@@ -10,18 +15,50 @@ public class BoardState {
     public static final int[] LETTER_POINTS = {1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10};
     public static enum Direction {DOWN, RIGHT};
     public static final int SIZE = 15;	//Square board
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final long[] ZOBRIST_KEYS = new long[SIZE*SIZE*26];	//One random key per slot and letter
+    static {
+        Random r = new Random(SIZE);	//Fixed seed, hashes are the same on every run
+        for(int i = 0; i < ZOBRIST_KEYS.length; i++) {
+            ZOBRIST_KEYS[i] = r.nextLong();
+        }
+    }
     private char[][] spaces;
+    private Bitboard rows, columns;	//Occupied slots, numbered by row and by column
     private int[] remainingLetters;
     private int score;
+    private long hash;	//XOR of the keys of every letter on the board
+    private Dictionary dictionary;	//Words the cross-checks are computed with, if any
+    private int[] crossChecks;	//Letters allowed in each slot, by direction of the move placing them
     
     /**
      * Creates a new board and marks all its slots as empty.
      */
     public BoardState(int[] startingLetters) {
+        this(startingLetters, null);
+    }
+    
+    /**
+     * Creates a new board, marks all its slots as empty and keeps track of
+     * which letters can be placed in each slot to form valid words with the
+     * letters around it (see {@link #getCrossCheck(int, int, Direction)}).
+     *
+     * @param startingLetters The letters available to make moves.
+     * @param dictionary The set of valid words, or {@code null} to not keep
+     * track of the letters allowed in each slot.
+     */
+    public BoardState(int[] startingLetters, Dictionary dictionary) {
         score = 0;
         spaces = new char[SIZE][SIZE];
         remainingLetters = startingLetters;
         clearBoard();
+        rows = new Bitboard();
+        columns = new Bitboard();
+        this.dictionary = dictionary;
+        if(dictionary != null) {
+            crossChecks = new int[2*SIZE*SIZE];
+            Arrays.fill(crossChecks, ALL_LETTERS);	//Empty board, nothing to combine with
+        }
     }
     
     /**
@@ -31,6 +68,7 @@ public class BoardState {
      */
     public BoardState(BoardState b) {
         score = b.score;
+        hash = b.hash;
         remainingLetters = new int[26];
         for (int i = 0 ; i < b.remainingLetters.length ; i++) {
             remainingLetters[i] = b.remainingLetters[i];
@@ -41,6 +79,12 @@ public class BoardState {
                 spaces[i][j] = b.spaces[i][j];
             }
         }
+        rows = new Bitboard(b.rows);
+        columns = new Bitboard(b.columns);
+        dictionary = b.dictionary;
+        if(b.crossChecks != null) {
+            crossChecks = b.crossChecks.clone();
+        }
     }
     
     /**
@@ -53,7 +97,41 @@ public class BoardState {
      */
     public boolean isOccupied(int x, int y) {
         if(x < 0 || x >= SIZE || y < 0 || y >= SIZE) return true;
-        return spaces[y][x] != ' ';
+        return rows.get(y*SIZE + x);
+    }
+    
+    /**
+     * Returns the occupied slots of the specified row.
+     *
+     * @param y The row.
+     * @return A mask with the bit <i>x</i> set if there is a letter in the
+     * column <i>x</i> of the row.
+     */
+    public int getRowOccupancy(int y) {
+        return rows.getLine(y);
+    }
+    
+    /**
+     * Returns the occupied slots of the specified column.
+     *
+     * @param x The column.
+     * @return A mask with the bit <i>y</i> set if there is a letter in the
+     * row <i>y</i> of the column.
+     */
+    public int getColumnOccupancy(int x) {
+        return columns.getLine(x);
+    }
+    
+    /**
+     * Returns the empty slots that have at least one adjacent letter, which are
+     * the slots where new words can connect to the ones on the board.
+     *
+     * @return A new set with the slots, numbered row by row ({@code y*SIZE + x}).
+     */
+    public Bitboard getAnchors() {
+        Bitboard result = rows.neighbors();
+        result.andNot(rows);
+        return result;
     }
     
     /**
@@ -94,6 +172,59 @@ public class BoardState {
         return true;
     }
     
+    /**
+     * Performs the specified packed move (see {@link PackedMove}) on this board
+     * without creating any objects. The move must be valid in the board.
+     *
+     * @param move The packed move to perform.
+     * @return A mask with the bit <i>n</i> set if the letter <i>n</i> of the
+     * word was added to the board, needed to undo the move.
+     */
+    public int doMove(long move) {
+        int deltaX = PackedMove.getDirection(move) == Direction.RIGHT ? 1 : 0,
+                deltaY = 1 - deltaX,
+                x = PackedMove.getX(move),
+                y = PackedMove.getY(move),
+                length = PackedWord.length(PackedMove.getWord(move)),
+                added = 0;
+        for(int i = 0; i < length; i++, x += deltaX, y += deltaY) {
+            if(spaces[y][x] == ' ') {
+                char c = PackedMove.getLetter(move, i);
+                placeLetter(x, y, c);
+                score += LETTER_POINTS[c-'A'];
+                remainingLetters[c-'A']--;
+                added |= 1 << i;
+            }
+        }
+        updateCrossChecks(PackedMove.getX(move), PackedMove.getY(move), PackedMove.getDirection(move), length);
+        return added;
+    }
+    
+    /**
+     * Undoes the specified packed move, restoring the previous board state.
+     * Like {@link #undoMove(Move)}, it must be called directly after
+     * {@link #doMove(long)} with the same move.
+     *
+     * @param move The packed move to undo.
+     * @param added The mask returned when the move was performed.
+     */
+    public void undoMove(long move, int added) {
+        int deltaX = PackedMove.getDirection(move) == Direction.RIGHT ? 1 : 0,
+                deltaY = 1 - deltaX,
+                x = PackedMove.getX(move),
+                y = PackedMove.getY(move);
+        for(int i = 0; added >> i != 0; i++, x += deltaX, y += deltaY) {
+            if((added & 1 << i) != 0) {
+                char c = spaces[y][x];
+                placeLetter(x, y, ' ');
+                score -= LETTER_POINTS[c-'A'];
+                remainingLetters[c-'A']++;
+            }
+        }
+        updateCrossChecks(PackedMove.getX(move), PackedMove.getY(move), PackedMove.getDirection(move),
+                Integer.SIZE - Integer.numberOfLeadingZeros(added));
+    }
+    
     /**
      * Places the specified word, character by character, in this board's spaces.
      *
@@ -108,11 +239,164 @@ public class BoardState {
     private void placeWord(char[] word, int x, int y, Direction dir) {
         int deltaX = dir == Direction.RIGHT ? 1 : 0,
                 deltaY = dir == Direction.DOWN ? 1 : 0;
-        for(char c : word) {
-            spaces[y][x] = c;
-            x += deltaX;
-            y += deltaY;
+        for(int i = 0; i < word.length; i++) {
+            placeLetter(x + i*deltaX, y + i*deltaY, word[i]);
         }
+        updateCrossChecks(x, y, dir, word.length);
+    }
+    
+    /**
+     * Returns the letters that can be placed in the specified slot by a move
+     * in the specified direction, which are the ones that form a valid word
+     * with the letters right before and after the slot in the other
+     * direction. Only available if the board was created with a dictionary.
+     *
+     * @param x The column.
+     * @param y The row.
+     * @param dir The direction of the move placing the letter.
+     * @return A mask with the bit <i>n</i> set if the letter <i>n</i> of the
+     * alphabet can be placed, with every bit set if there are no letters to
+     * combine with. Meaningless if the slot isn't empty.
+     * @throws IllegalStateException If the board wasn't created with a
+     * dictionary.
+     */
+    public int getCrossCheck(int x, int y, Direction dir) {
+        if(crossChecks == null) {
+            throw new IllegalStateException("Board created without a dictionary");
+        }
+        return crossChecks[(dir.ordinal()*SIZE + y)*SIZE + x];
+    }
+    
+    /**
+     * Checks whether this board keeps track of the letters allowed in each
+     * slot for the specified dictionary.
+     *
+     * @param dictionary The dictionary to check.
+     * @return {@code true} If {@link #getCrossCheck(int, int, Direction)} can
+     * be used to validate words of the specified dictionary.
+     */
+    public boolean hasCrossChecks(Dictionary dictionary) {
+        return crossChecks != null && this.dictionary == dictionary;
+    }
+    
+    /**
+     * Recomputes the letters allowed in the slots affected by changing the
+     * specified slots, which are the changed slots themselves and the first
+     * empty slots found from them in every direction.
+     *
+     * @param x The starting column of the changed slots.
+     * @param y The starting row of the changed slots.
+     * @param dir The direction of the changed slots.
+     * @param length The amount of changed slots.
+     */
+    private void updateCrossChecks(int x, int y, Direction dir, int length) {
+        if(crossChecks == null) {
+            return;
+        }
+        int deltaX = dir == Direction.RIGHT ? 1 : 0,
+                deltaY = dir == Direction.DOWN ? 1 : 0;
+        for(int i = 0; i < length; i++, x += deltaX, y += deltaY) {
+            if(spaces[y][x] == ' ') {
+                updateCrossCheck(x, y);
+            }
+            for(int j = x - 1; j >= 0; j--) {	//Slots before and after the changed slot in both directions
+                if(spaces[y][j] == ' ') {
+                    updateCrossCheck(j, y);
+                    break;
+                }
+            }
+            for(int j = x + 1; j < SIZE; j++) {
+                if(spaces[y][j] == ' ') {
+                    updateCrossCheck(j, y);
+                    break;
+                }
+            }
+            for(int j = y - 1; j >= 0; j--) {
+                if(spaces[j][x] == ' ') {
+                    updateCrossCheck(x, j);
+                    break;
+                }
+            }
+            for(int j = y + 1; j < SIZE; j++) {
+                if(spaces[j][x] == ' ') {
+                    updateCrossCheck(x, j);
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Recomputes the letters allowed in the specified empty slot, for moves in
+     * both directions.
+     */
+    private void updateCrossCheck(int x, int y) {
+        crossChecks[(Direction.RIGHT.ordinal()*SIZE + y)*SIZE + x] = computeCrossCheck(x, y, 0, 1);
+        crossChecks[(Direction.DOWN.ordinal()*SIZE + y)*SIZE + x] = computeCrossCheck(x, y, 1, 0);
+    }
+    
+    /**
+     * Computes the letters that form a valid word when placed in the specified
+     * empty slot, together with the letters right before and after it.
+     *
+     * @param x The column.
+     * @param y The row.
+     * @param deltaX 1 if the word goes right.
+     * @param deltaY 1 if the word goes down.
+     * @return A mask with the bit <i>n</i> set if the letter <i>n</i> of the
+     * alphabet forms a valid word, with every bit set if the slot has no
+     * letters before or after it.
+     */
+    private int computeCrossCheck(int x, int y, int deltaX, int deltaY) {
+        int startX = x, startY = y;
+        while(startX - deltaX >= 0 && startY - deltaY >= 0 && spaces[startY - deltaY][startX - deltaX] != ' ') {
+            startX -= deltaX;
+            startY -= deltaY;
+        }
+        int endX = x + deltaX, endY = y + deltaY;
+        while(endX < SIZE && endY < SIZE && spaces[endY][endX] != ' ') {
+            endX += deltaX;
+            endY += deltaY;
+        }
+        if(startX + startY + 1 == endX + endY) {
+            return ALL_LETTERS;	//Nothing before or after
+        }
+        int result = 0;
+        for(char c = 'A'; c <= 'Z'; c++) {
+            long word = PackedWord.EMPTY;
+            for(int i = startX, j = startY; i < endX || j < endY; i += deltaX, j += deltaY) {
+                word = PackedWord.append(word, i == x && j == y ? c : spaces[j][i]);
+            }
+            if(dictionary.hasWord(word)) {
+                result |= 1 << (c - 'A');
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Places the specified letter, or a space, in the specified slot, keeping
+     * the occupied slots and the hash up to date.
+     */
+    private void placeLetter(int x, int y, char c) {
+        hash ^= zobristKey(x, y, spaces[y][x]) ^ zobristKey(x, y, c);
+        spaces[y][x] = c;
+        if(c != ' ') {
+            rows.set(y*SIZE + x);
+            columns.set(x*SIZE + y);
+        }
+        else {
+            rows.clear(y*SIZE + x);
+            columns.clear(x*SIZE + y);
+        }
+    }
+    
+    /**
+     * Returns the Zobrist key for the specified letter in the specified slot.
+     * Spaces have no key.
+     */
+    private static long zobristKey(int x, int y, char c) {
+        return c >= 'A' && c <= 'Z' ? ZOBRIST_KEYS[(y*SIZE + x)*26 + c - 'A'] : 0;
     }
     
     /**
@@ -154,8 +438,9 @@ public class BoardState {
      * of the specified slot.
      */
     public boolean isSurrounded(int x, int y) {
-        return (isOccupied(x-1, y)|| isOccupied(x+1, y))
-                && (isOccupied(x, y-1) || isOccupied(x, y+1));
+        int row = getRowOccupancy(y) << 1 | 1 | 1 << (SIZE + 1),	//Borders count as letters
+                column = getColumnOccupancy(x) << 1 | 1 | 1 << (SIZE + 1);
+        return (row & (0b101 << x)) != 0 && (column & (0b101 << y)) != 0;
     }
     
     /**
@@ -167,10 +452,9 @@ public class BoardState {
      * specified slot.
      */
     public boolean hasAdjacentLetters(int x, int y) {
-        return (x > 0 && isOccupied(x-1, y))
-                || (x < SIZE-1 && isOccupied(x+1, y))
-                || (y > 0 && isOccupied(x, y-1))
-                || (y < SIZE-1 && isOccupied(x, y+1));
+        int row = getRowOccupancy(y) << 1,	//Shifted so that the slot before the first is bit 0
+                column = getColumnOccupancy(x) << 1;
+        return (row & (0b101 << x)) != 0 || (column & (0b101 << y)) != 0;
     }
     
     /**
@@ -213,6 +497,30 @@ public class BoardState {
         m.setScore(score);
     }
     
+    /**
+     * Computes the points the specified move would score on this board, which
+     * are the points of the letters it would add.
+     *
+     * @param m The move to evaluate.
+     * @return The points scored by performing the move.
+     */
+    public int getPoints(Move m) {
+        int deltaX = m.getDirection() == Direction.RIGHT ? 1 : 0,
+                deltaY = m.getDirection() == Direction.DOWN ? 1 : 0,
+                x = m.getX(),
+                y = m.getY(),
+                points = 0;
+        String word = m.getWord();
+        for(int i = 0; i < word.length(); i++) {
+            if(spaces[y][x] == ' ') {
+                points += LETTER_POINTS[word.charAt(i)-'A'];
+            }
+            x += deltaX;
+            y += deltaY;
+        }
+        return points;
+    }
+    
     /**
      * Checks whether this board has at least one letter available to make moves.
      *
@@ -238,8 +546,18 @@ public class BoardState {
     }
     
     /**
-     * Returns a textual representation of this board's current state. Used for
-     * hash coding and equality comparison.
+     * Returns a 64-bit Zobrist hash of the letters on this board. It is updated
+     * on every move instead of being computed from the whole board, and boards
+     * with the same letters in the same slots have the same hash.
+     *
+     * @return The hash of this board's letters.
+     */
+    public long getZobristHash() {
+        return hash;
+    }
+    
+    /**
+     * Returns a textual representation of this board's current state.
      * 
      * @return A quick and dirty string representation of this board.
      */
@@ -273,15 +591,16 @@ public class BoardState {
     }
     
     /**
-     * Returns the hash code of this board's string representation.
+     * Returns the hash code of this board's letters, folded from its Zobrist hash.
      */
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return (int) (hash ^ (hash >>> 32));
     }
     
     /**
-     * Computes equality based on boards' string representation.
+     * Computes equality based on boards' letters.  Boards with different hashes
+     * are told apart without comparing their slots.
      */
     @Override
     public boolean equals(Object obj) {
@@ -295,6 +614,14 @@ public class BoardState {
             return false;
         }
         BoardState other = (BoardState) obj;
-        return this.toString().equals(other.toString());
+        if(hash != other.hash) {
+            return false;
+        }
+        for(int i = 0; i < SIZE; i++) {
+            if(!Arrays.equals(spaces[i], other.spaces[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,83 @@
+package general;
+
+import general.BoardState.Direction;
+import utility.PackedWord;
+
+/**
+ * Encodes moves in a single <code>long</code>, so that they can be generated and stored without creating objects. The
+ * word is stored as a {@link PackedWord} in the lowest 35 bits, followed by 4 bits for the starting column, 4 for the
+ * starting row and 1 for the direction. The points the move scores are stored in the highest bits, so sorting packed
+ * moves sorts them by score.
+ *
+ */
+public final class PackedMove {
+	/**
+	 * Value that is never a packed move, to mark the lack of one.
+	 */
+	public static final long NONE = -1;
+	private static final int X_SHIFT = 35, Y_SHIFT = 39, DIRECTION_SHIFT = 43, SCORE_SHIFT = 44;
+	private static final long WORD_MASK = (1L << X_SHIFT) - 1;
+	private static final int COORDINATE_MASK = 0xF;
+	
+	private PackedMove() {
+	}
+	
+	/**
+	 * Packs the specified move
+	 * 
+	 * @param word The word to place, packed (see {@link PackedWord})
+	 * @param x The word's starting column
+	 * @param y The word's starting row
+	 * @param dir Right or down
+	 * @param score The points the move scores
+	 * @return The packed move
+	 */
+	public static long pack(long word, int x, int y, Direction dir, int score) {
+		return word | (long) x << X_SHIFT | (long) y << Y_SHIFT | (dir == Direction.RIGHT ? 1L << DIRECTION_SHIFT : 0)
+				| (long) score << SCORE_SHIFT;
+	}
+	
+	/**
+	 * Packs the specified move, with the specified score
+	 */
+	public static long pack(Move m, int score) {
+		return pack(PackedWord.pack(m.getWord()), m.getX(), m.getY(), m.getDirection(), score);
+	}
+	
+	/**
+	 * Returns the word of the specified packed move, packed (see {@link PackedWord})
+	 */
+	public static long getWord(long move) {
+		return move & WORD_MASK;
+	}
+	
+	/**
+	 * Returns the letter in the specified position of the word of a packed move
+	 */
+	public static char getLetter(long move, int index) {
+		return PackedWord.letter(move & WORD_MASK, index);
+	}
+	
+	public static int getX(long move) {
+		return (int) (move >>> X_SHIFT) & COORDINATE_MASK;
+	}
+	
+	public static int getY(long move) {
+		return (int) (move >>> Y_SHIFT) & COORDINATE_MASK;
+	}
+	
+	public static Direction getDirection(long move) {
+		return (move & 1L << DIRECTION_SHIFT) != 0 ? Direction.RIGHT : Direction.DOWN;
+	}
+	
+	public static int getScore(long move) {
+		return (int) (move >>> SCORE_SHIFT);
+	}
+	
+	/**
+	 * Creates a {@link Move} with the word and position of the specified packed move
+	 */
+	public static Move toMove(long move) {
+		return new Move(PackedWord.unpack(getWord(move)), getX(move), getY(move), getDirection(move));
+	}
+}
@@ -2,67 +2,107 @@ package general;
 
 import general.BoardState.Direction;
 import utility.Dictionary;
+import utility.PackedWord;
 
 /**
  * Class used for validating moves on a board with a given dictionary. Used
- * extensively for finding optimal solutions.
+ * extensively for finding optimal solutions.  Keeps no state, so solvers with
+ * different dictionaries can use it at the same time.
  */
 public class Validator {
-    private static Dictionary dictionary;
     
     /**
-     * Constructs a new validator with the specified dictionary of valid words.
+     * Checks whether a specified move is valid on the specified board considering
+     * the specified dictionary.
      *
+     * @param move The move to validate.
+     * @param boardState The board the move would be applied to.
      * @param dictionary The set of words allowed to be played on the board.
+     * @return {@code true} If the specified move meets all criteria for a valid
+     * move.
      */
-    public static void setDictionary(Dictionary dictionary) {
-        Validator.dictionary = dictionary;
+    public static boolean isValidMovement(Move move, BoardState boardState, Dictionary dictionary){
+        if(dictionary == null){
+            return false;
+        }
+        if(!isWithinBounds(boardState, move) || !boardHasEnoughLettersFor(boardState, move)) {
+            return false;
+        }
+        String word = move.getWord();
+        return fitsBoard(word.toCharArray(), word.length(), move.getX(), move.getY(), move.getDirection(), boardState, dictionary);
     }
     
     /**
-     * Checks whether a specified move is valid on the specified board considering
-     * the solver's dictionary.
+     * Checks whether the specified word can be placed on the specified board
+     * considering the specified dictionary, like {@link #isValidMovement(Move, BoardState, Dictionary)}
+     * but without creating a move.
      *
-     * @param move The move to validate.
-     * @param boardState The board the move would be applied to.
-     * @return {@code true} If the specified move meets all criteria for a valid
+     * @param word A buffer with the word to place.
+     * @param length The amount of letters of the word in the buffer.
+     * @param x The word's starting column.
+     * @param y The word's starting row.
+     * @param dir Right or down.
+     * @param boardState The board the word would be placed on.
+     * @param dictionary The set of words allowed to be played on the board.
+     * @return {@code true} If placing the word meets all criteria for a valid
      * move.
      */
-    public static boolean isValidMovement(Move move, BoardState boardState){
-        int x = move.getX(), y = move.getY();
-        String word = move.getWord();
-        char[][] spaces = boardState.getSpaces();
-        
+    public static boolean isValidMovement(char[] word, int length, int x, int y, Direction dir, BoardState boardState, Dictionary dictionary){
         if(dictionary == null){
             return false;
         }
-        if(!isWithinBounds(boardState, move) || !boardHasEnoughLettersFor(boardState, move)) {
+        int deltaX = dir == Direction.RIGHT ? 1 : 0,
+                deltaY = dir == Direction.DOWN ? 1 : 0;
+        if(x < 0 || y < 0 || x + (length - 1) * deltaX >= BoardState.SIZE || y + (length - 1) * deltaY >= BoardState.SIZE) {
             return false;
         }
+        char[][] spaces = boardState.getSpaces();
+        int[] remainingLetters = boardState.getRemainingLetters();
+        for(int i = 0; i < length; i++) {	//Every letter must be on the board or available as many times as it's needed
+            int needed = 0;
+            for(int j = 0; j < length; j++) {
+                if(word[j] == word[i]) {
+                    needed++;
+                }
+                if(spaces[y + j * deltaY][x + j * deltaX] == word[i]) {
+                    needed--;
+                }
+            }
+            if(needed > remainingLetters[word[i]-'A']) {
+                return false;
+            }
+        }
+        return fitsBoard(word, length, x, y, dir, boardState, dictionary);
+    }
+    
+    /**
+     * Checks that a word within the board's bounds, and for which there are
+     * enough letters, forms valid words with the letters around it.
+     */
+    private static boolean fitsBoard(char[] word, int length, int x, int y, Direction dir, BoardState boardState, Dictionary dictionary) {
+        char[][] spaces = boardState.getSpaces();
+        boolean crossChecks = boardState.hasCrossChecks(dictionary);
         
         int overlappingSpaces = 0;
         boolean matches = false;
-        if(move.getDirection() == Direction.DOWN) {
+        if(dir == Direction.DOWN) {
             
-            for(int i=y; i < y + word.length(); i++){   		//se fija si
+            for(int i=y; i < y + length; i++){   		//se fija si
                 
-                if(boardState.isOccupied(x-1, i) || boardState.isOccupied(x+1, i)){ //no forma palabras nuevas y si lo
+                if(hasLetter(boardState, x-1, i) || hasLetter(boardState, x+1, i)){ //no forma palabras nuevas y si lo
                     
                     matches = true;
-                    StringBuffer wordaux= new StringBuffer();	//hace las checkea y se fija que exista
-                    wordaux.append(spaces[i][x]);
-                    
-                    for(int j = x - 1; j > 0 && spaces[i][j]!=' '; j--){
-                        wordaux.append(spaces[i][j]);
-                    }
-                    
-                    wordaux.reverse();
-                    
-                    for(int j = x + 1; j < BoardState.SIZE && spaces[i][j]!=' '; j++){
-                        wordaux.append(spaces[i][j]);
+                    if(spaces[i][x] == ' ' && crossChecks) {	//The board knows which letters fit
+                        if((boardState.getCrossCheck(x, i, dir) & 1 << (word[i-y]-'A')) == 0) {
+                            return false;
+                        }
+                        continue;
                     }
+                    long wordaux = packBefore(spaces, x, i, 1, 0);	//hace las checkea y se fija que exista
+                    wordaux = PackedWord.append(wordaux, spaces[i][x] != ' ' ? spaces[i][x] : word[i-y]);
+                    wordaux = packFrom(wordaux, spaces, x + 1, i, 1, 0);
                     
-                    if(!dictionary.hasWord(wordaux.toString())){
+                    if(!dictionary.hasWord(wordaux)){
                         return false;
                     }
                 }
@@ -73,49 +113,39 @@ public class Validator {
                 }
             }
             
-            if( (y > 0 && spaces[y-1][x] != ' ') || ( y + move.getWord().length() < BoardState.SIZE && spaces[y+move.getWord().length()][x] != ' ') ) {
-                
-                StringBuffer wordaux = new StringBuffer();
-                for(int j = y - 1; j > 0 && spaces[j][x]!=' '; j--){
-                    wordaux.append(spaces[j][x]);
-                }
-                
-                wordaux.reverse();
-                wordaux.append(move.getWord());
+            if( (y > 0 && spaces[y-1][x] != ' ') || ( y + length < BoardState.SIZE && spaces[y+length][x] != ' ') ) {
                 
-                for(int j = y + move.getWord().length(); j<BoardState.SIZE && spaces[j][x]!=' '; j++){
-                    wordaux.append(spaces[j][x]);
+                long wordaux = packBefore(spaces, x, y, 0, 1);
+                for(int i = 0; i < length; i++) {
+                    wordaux = PackedWord.append(wordaux, word[i]);
                 }
+                wordaux = packFrom(wordaux, spaces, x, y + length, 0, 1);
                 
-                if(wordaux.length()>7){
-                    return false;
-                }
-                
-                if(!dictionary.hasWord(wordaux.toString())){
+                if(!dictionary.hasWord(wordaux)){	//Also false if it's longer than 7 letters
                     return false;
                 }
             }
             
-            if(overlappingSpaces == word.length()){
+            if(overlappingSpaces == length){
                 return false;
             }
         } else {
             
-            for(int i = x; i < x + word.length(); i++) {
+            for(int i = x; i < x + length; i++) {
                 
-                if (boardState.isOccupied(i, y - 1) || boardState.isOccupied(i, y + 1)) {
+                if (hasLetter(boardState, i, y - 1) || hasLetter(boardState, i, y + 1)) {
                     
                     matches = true;
-                    StringBuffer wordaux = new StringBuffer();
-                    wordaux.append(spaces[y][i]);
-                    for(int j = y - 1; j > 0 && spaces[j][i] != ' '; j--){
-                        wordaux.append(spaces[j][i]);
-                    }
-                    wordaux.reverse();
-                    for(int j = y + 1; j < BoardState.SIZE && spaces[j][i]!=' '; j++){
-                        wordaux.append(spaces[j][i]);
+                    if(spaces[y][i] == ' ' && crossChecks) {
+                        if((boardState.getCrossCheck(i, y, dir) & 1 << (word[i-x]-'A')) == 0) {
+                            return false;
+                        }
+                        continue;
                     }
-                    if(!dictionary.hasWord(wordaux.toString())){
+                    long wordaux = packBefore(spaces, i, y, 0, 1);
+                    wordaux = PackedWord.append(wordaux, spaces[y][i] != ' ' ? spaces[y][i] : word[i-x]);
+                    wordaux = packFrom(wordaux, spaces, i, y + 1, 0, 1);
+                    if(!dictionary.hasWord(wordaux)){
                         return false;
                     }
                 }
@@ -124,24 +154,17 @@ public class Validator {
                     overlappingSpaces++;
                 }
             }
-            if(overlappingSpaces == word.length()){
+            if(overlappingSpaces == length){
                 return false;
             }
-            if((x > 0 && spaces[y][x-1] != ' ') || (x + move.getWord().length() < BoardState.SIZE && spaces[y][x+move.getWord().length()] != ' ')){
+            if((x > 0 && spaces[y][x-1] != ' ') || (x + length < BoardState.SIZE && spaces[y][x+length] != ' ')){
                 
-                StringBuffer wordaux = new StringBuffer();
-                for(int j = x - 1; j > 0 && spaces[y][j] != ' '; j--){
-                    wordaux.append(spaces[y][j]);
+                long wordaux = packBefore(spaces, x, y, 1, 0);
+                for(int i = 0; i < length; i++) {
+                    wordaux = PackedWord.append(wordaux, word[i]);
                 }
-                wordaux.reverse();
-                wordaux.append(move.getWord());
-                for(int j = x + move.getWord().length(); j < BoardState.SIZE && spaces[y][j] != ' '; j++){
-                    wordaux.append(spaces[y][j]);
-                }
-                if(wordaux.length() > 7){
-                    return false;
-                }
-                if(!dictionary.hasWord(wordaux.toString())){
+                wordaux = packFrom(wordaux, spaces, x + length, y, 1, 0);
+                if(!dictionary.hasWord(wordaux)){	//Also false if it's longer than 7 letters
                     return false;
                 }
             }
@@ -152,6 +175,58 @@ public class Validator {
         return true;
     }
     
+    /**
+     * Checks whether there is a letter in the specified slot. Unlike
+     * {@link BoardState#isOccupied(int, int)}, slots outside the board are
+     * empty, since borders don't form words.
+     */
+    private static boolean hasLetter(BoardState b, int x, int y) {
+        return x >= 0 && y >= 0 && x < BoardState.SIZE && y < BoardState.SIZE && b.isOccupied(x, y);
+    }
+    
+    /**
+     * Packs the letters right before the specified slot, going back in the specified direction until finding a space
+     * or reaching the first row or column.
+     *
+     * @param spaces The board's slots.
+     * @param x The column of the slot.
+     * @param y The row of the slot.
+     * @param deltaX 1 when going right.
+     * @param deltaY 1 when going down.
+     * @return The letters before the slot, packed in order (see {@link PackedWord}).
+     */
+    private static long packBefore(char[][] spaces, int x, int y, int deltaX, int deltaY) {
+        int startX = x, startY = y;
+        while((deltaX == 1 ? startX : startY) > 0 && spaces[startY - deltaY][startX - deltaX] != ' ') {
+            startX -= deltaX;
+            startY -= deltaY;
+        }
+        long result = PackedWord.EMPTY;
+        for(; startX < x || startY < y; startX += deltaX, startY += deltaY) {
+            result = PackedWord.append(result, spaces[startY][startX]);
+        }
+        return result;
+    }
+    
+    /**
+     * Appends to a packed word the letters starting at the specified slot, until finding a space or the end of the
+     * board.
+     *
+     * @param word The packed word to append the letters to.
+     * @param spaces The board's slots.
+     * @param x The column of the first slot.
+     * @param y The row of the first slot.
+     * @param deltaX 1 when going right.
+     * @param deltaY 1 when going down.
+     * @return The packed word with the letters appended.
+     */
+    private static long packFrom(long word, char[][] spaces, int x, int y, int deltaX, int deltaY) {
+        for(; x < BoardState.SIZE && y < BoardState.SIZE && spaces[y][x] != ' '; x += deltaX, y += deltaY) {
+            word = PackedWord.append(word, spaces[y][x]);
+        }
+        return word;
+    }
+    
     /**
      * Checks that the specified move will not go out of bounds when
      * played on the specified board.
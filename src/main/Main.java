@@ -1,18 +1,23 @@
 package main;
 
 import general.BoardState;
-import general.Validator;
 import io.FileProcessor;
 
 import java.io.IOException;
 import java.util.Set;
 
 import solving.BackTrackingWithMemorySolver;
+import solving.ParallelBackTrackingSolver;
 import solving.Solver;
 import solving.StochasticHillClimbingSolver;
+import solving.TranspositionTable;
+import utility.AnagramIndex;
 import utility.Dictionary;
+import utility.Gaddag;
+import utility.WordsCache;
 
 public class Main {
+    private static final String COMPILED_EXTENSION = ".dawg";
     
     public static void main(String[] args) {
         if(args.length < 3) {
@@ -22,12 +27,99 @@ public class Main {
         String dictPath = args[0],
                 lettersPath = args[1],
                 outPath = args[2];
-        boolean visual = false;
+        String compiledPath = null;
+        boolean visual = false, gaddag = false, anagrams = false, offHeap = false, anchors = false, incremental = false;
         long maxTime = -1;
+        int cacheSize = 0, threads = 0, moveThreads = 0;
+        long memoryBudget = TranspositionTable.DEFAULT_BUDGET;
         for(int i = 3; i < args.length; i++) {	//Handle optional parameters
             if(args[i].equals("-visual")) {
                 visual = true;
             }
+            else if(args[i].equals("-gaddag")) {
+                gaddag = true;
+            }
+            else if(args[i].equals("-anagrams")) {
+                anagrams = true;
+            }
+            else if(args[i].equals("-anchors")) {
+                anchors = true;
+            }
+            else if(args[i].equals("-incremental")) {
+                incremental = true;
+            }
+            else if(args[i].equals("-offheap")) {
+                offHeap = true;
+            }
+            else if(args[i].equals("-savedict")) {
+                if(i + 1 < args.length) {
+                    compiledPath = args[++i];	//Next parameter is the path to save the compiled dictionary to
+                }
+                else {
+                    System.out.println("No path specified for the compiled dictionary. Ignoring.");
+                }
+            }
+            else if(args[i].equals("-cache")) {
+                try {
+                    cacheSize = Integer.parseInt(args[i+1]);
+                    i++;	//Skip next parameter, it's the cache size which we just read
+                }
+                catch(NumberFormatException e) {
+                    System.out.println("Invalid cache size format. Aborting.");
+                    System.exit(1);
+                }
+                catch(ArrayIndexOutOfBoundsException e) {
+                    System.out.println("No cache size specified. Using default size.");
+                    cacheSize = WordsCache.DEFAULT_SIZE;
+                }
+            }
+            else if(args[i].equals("-memory")) {
+                try {
+                    long megabytes = Long.parseLong(args[i+1]);
+                    i++;	//Skip next parameter, it's the memory budget which we just read
+                    if(megabytes <= 0 || megabytes > TranspositionTable.MAX_BUDGET >> 20) {
+                        System.out.println("Invalid memory budget, it must be between 1 and "
+                                + (TranspositionTable.MAX_BUDGET >> 20) + " megabytes. Aborting.");
+                        System.exit(1);
+                    }
+                    memoryBudget = megabytes << 20;	//Given in megabytes
+                }
+                catch(NumberFormatException e) {
+                    System.out.println("Invalid memory budget format. Aborting.");
+                    System.exit(1);
+                }
+                catch(ArrayIndexOutOfBoundsException e) {
+                    System.out.println("No memory budget specified. Using default budget.");
+                }
+            }
+            else if(args[i].equals("-threads")) {
+                try {
+                    threads = Integer.parseInt(args[i+1]);
+                    i++;	//Skip next parameter, it's the amount of threads which we just read
+                }
+                catch(NumberFormatException e) {
+                    System.out.println("Invalid amount of threads format. Aborting.");
+                    System.exit(1);
+                }
+                catch(ArrayIndexOutOfBoundsException e) {
+                    System.out.println("No amount of threads specified. Using one per processor.");
+                    threads = Runtime.getRuntime().availableProcessors();
+                }
+            }
+            else if(args[i].equals("-movethreads")) {
+                try {
+                    moveThreads = Integer.parseInt(args[i+1]);
+                    i++;	//Skip next parameter, it's the amount of threads which we just read
+                }
+                catch(NumberFormatException e) {
+                    System.out.println("Invalid amount of move generation threads format. Aborting.");
+                    System.exit(1);
+                }
+                catch(ArrayIndexOutOfBoundsException e) {
+                    System.out.println("No amount of move generation threads specified. Using one per processor.");
+                    moveThreads = Runtime.getRuntime().availableProcessors();
+                }
+            }
             else if(args[i].startsWith("-maxtime")) {
                 try {
                     maxTime = Long.parseLong(args[i+1])*1000;
@@ -46,13 +138,26 @@ public class Main {
                 System.out.println("Skipping invalid parameter " + args[i]);
             }
         }
-        Set<String> words = null;
+        Dictionary dict = null;
         int[] letters = null;
         try {
-            words = FileProcessor.processDictionaryFile(dictPath);
-            if(words == null) {
-                System.out.println("Error reading dictionary file. Aborting.");
-                System.exit(-1);
+            if(dictPath.endsWith(COMPILED_EXTENSION)) {
+                dict = Dictionary.load(dictPath);	//Already compiled, just map it
+            }
+            else {
+                Set<String> words = FileProcessor.processDictionaryFile(dictPath);
+                if(words == null) {
+                    System.out.println("Error reading dictionary file. Aborting.");
+                    System.exit(-1);
+                }
+                Dictionary.Builder builder = new Dictionary.Builder();
+                for(String word : words) {
+                    builder.addWord(word);
+                }
+                dict = builder.build();
+            }
+            if(compiledPath != null) {
+                dict.save(compiledPath);
             }
             letters = FileProcessor.processLettersFile(lettersPath);
             if(letters == null) {
@@ -65,18 +170,43 @@ public class Main {
         }
         
         Solver solver = null;
-        Dictionary dict = new Dictionary();
-        for(String word : words) {
-            dict.addWord(word);
-        }
-        Validator.setDictionary(dict);
         if(maxTime > 0) {
             solver = new StochasticHillClimbingSolver(dict, letters, visual, maxTime);
         }
         else {
-            solver = new BackTrackingWithMemorySolver(dict, letters, visual);
+            try {
+                if(threads > 0) {
+                    if(offHeap) {
+                        System.out.println("Visited states shared between threads are kept on the heap. Ignoring -offheap.");
+                    }
+                    solver = new ParallelBackTrackingSolver(dict, letters, visual, threads, memoryBudget);
+                }
+                else {
+                    solver = new BackTrackingWithMemorySolver(dict, letters, visual, new TranspositionTable(memoryBudget, offHeap));
+                }
+            }
+            catch(OutOfMemoryError e) {	//Only the visited states take that much at once
+                System.out.println("Not enough memory for a memory budget of " + (memoryBudget >> 20)
+                        + " megabytes, use a smaller -memory or a larger heap. Aborting.");
+                System.exit(1);
+            }
+        }
+        if(gaddag) {
+            solver.setGaddag(new Gaddag(dict));
+        }
+        if(anagrams) {
+            solver.setAnagramIndex(new AnagramIndex(dict));
+        }
+        solver.setAnchorMoves(anchors);
+        solver.setIncrementalMoves(incremental);
+        if(moveThreads > 0) {
+            solver.setParallelMoves(moveThreads);
+        }
+        if(cacheSize > 0) {
+            solver.setCache(new WordsCache(dict, cacheSize));
         }
         BoardState solution = solver.solve();
+        solver.setParallelMoves(0);    //Shuts the move generation threads down
         try {
             FileProcessor.writeOutputFile(solution, outPath);
         } catch (IOException e) {
@@ -0,0 +1,196 @@
+package solving;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+import java.util.HashSet;
+import java.util.Set;
+import utility.Dictionary;
+import utility.LineVisitor;
+import utility.PackedWord;
+
+/**
+ * Generates moves as described by Appel and Jacobson. Instead of trying every
+ * starting square and validating the words found, words are only built through
+ * anchors (empty squares next to a letter) from the letters on the board and
+ * the available letters, honoring the board's cross-checks (see
+ * {@link BoardState#getCrossCheck(int, int, Direction)}). Every move found is
+ * valid, and each placement is found once, with its whole run of letters as
+ * the word.
+ * <p>Generators keep their buffers between calls, so a generator must only be
+ * used by one thread at a time.</p>
+ */
+public class AnchorMoveGenerator implements LineVisitor {
+    private final Dictionary dictionary;
+    private final char[] line = new char[BoardState.SIZE];
+    private final int[] crossChecks = new int[BoardState.SIZE];
+    private final int[] letters = new int[26];
+    private BoardState boardState;
+    private Set<Move> moves;
+    private MoveList packedMoves;
+    private int lineIndex;
+    private Direction dir;
+    
+    /**
+     * Creates a generator of moves with the words in the specified dictionary.
+     *
+     * @param dictionary The set of valid words to play.
+     */
+    public AnchorMoveGenerator(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+    
+    /**
+     * Computes all the possible moves from the specified board state.
+     *
+     * @param boardState The starting board state, created with this
+     * generator's dictionary.
+     * @return A set of valid moves that can be carried out from the specified
+     * board state.
+     * @throws IllegalArgumentException If the board doesn't keep cross-checks
+     * for this generator's dictionary.
+     */
+    public Set<Move> getPossibleMoves(BoardState boardState) {
+        Set<Move> result = new HashSet<Move>();
+        moves = result;
+        generate(boardState);
+        moves = null;
+        return result;
+    }
+    
+    /**
+     * Adds all the possible moves from the specified board state to a list,
+     * packed (see {@link PackedMove}). Once the list has grown enough no
+     * objects are created.
+     *
+     * @param boardState The starting board state, created with this
+     * generator's dictionary.
+     * @param result The list to add the valid moves to.
+     * @throws IllegalArgumentException If the board doesn't keep cross-checks
+     * for this generator's dictionary.
+     */
+    public void generate(BoardState boardState, MoveList result) {
+        packedMoves = result;
+        generate(boardState);
+        packedMoves = null;
+    }
+    
+    /**
+     * Adds the possible moves from the specified board state that are placed
+     * on the specified row or column to a list, packed (see
+     * {@link PackedMove}).
+     *
+     * @param boardState The starting board state, created with this
+     * generator's dictionary.
+     * @param lineIndex The index of the row (if going right) or column (if
+     * going down).
+     * @param dir The direction of the moves.
+     * @param result The list to add the valid moves to.
+     * @throws IllegalArgumentException If the board doesn't keep cross-checks
+     * for this generator's dictionary.
+     */
+    public void generate(BoardState boardState, int lineIndex, Direction dir, MoveList result) {
+        packedMoves = result;
+        if(start(boardState)) {
+            generateLine(lineIndex, dir);
+        }
+        this.boardState = null;
+        packedMoves = null;
+    }
+    
+    private void generate(BoardState boardState) {
+        if(start(boardState)) {
+            for(int i = 0; i < BoardState.SIZE; i++) {
+                generateLine(i, Direction.RIGHT);
+                generateLine(i, Direction.DOWN);
+            }
+        }
+        this.boardState = null;
+    }
+    
+    /**
+     * Prepares to generate moves from the specified board state.
+     *
+     * @return {@code true} If there can be any moves.
+     */
+    private boolean start(BoardState boardState) {
+        if(!boardState.hasCrossChecks(dictionary)) {
+            throw new IllegalArgumentException("The board doesn't keep cross-checks for this dictionary");
+        }
+        if(!boardState.hasRemainingLetters()) {
+            return false;	//No moves
+        }
+        this.boardState = boardState;
+        System.arraycopy(boardState.getRemainingLetters(), 0, letters, 0, letters.length);	//Changed while searching
+        return true;
+    }
+    
+    /**
+     * Loads the specified row or column and finds the words through each of
+     * its anchors.
+     */
+    private void generateLine(int lineIndex, Direction dir) {
+        char[][] spaces = boardState.getSpaces();
+        this.lineIndex = lineIndex;
+        this.dir = dir;
+        for(int i = 0; i < BoardState.SIZE; i++) {
+            int x = dir == Direction.RIGHT ? i : lineIndex,
+                    y = dir == Direction.RIGHT ? lineIndex : i;
+            line[i] = spaces[y][x];
+            crossChecks[i] = line[i] == ' ' ? boardState.getCrossCheck(x, y, dir) : 0;
+        }
+        generateLine();
+    }
+    
+    /**
+     * Finds the words through each anchor of the current line. Words through
+     * several anchors are only found from the leftmost one, since letters
+     * before an anchor are only placed on squares that aren't anchors.
+     */
+    private void generateLine() {
+        int prefix = 0;	//Empty squares right before the current one that aren't anchors
+        for(int i = 0; i < BoardState.SIZE; i++) {
+            if(line[i] != ' ') {
+                prefix = 0;
+            }
+            else if(isAnchor(i)) {
+                dictionary.giveMeWords(line, crossChecks, i, prefix, letters, this);
+                prefix = 0;
+            }
+            else {
+                prefix++;
+            }
+        }
+    }
+    
+    /**
+     * Checks whether the specified empty square of the current line is next
+     * to a letter.
+     */
+    private boolean isAnchor(int i) {
+        return dir == Direction.RIGHT ? boardState.hasAdjacentLetters(i, lineIndex) : boardState.hasAdjacentLetters(lineIndex, i);
+    }
+    
+    @Override
+    public boolean visit(char[] line, int start, int length) {
+        int x = dir == Direction.RIGHT ? start : lineIndex,
+                y = dir == Direction.RIGHT ? lineIndex : start;
+        if(moves != null) {
+            moves.add(new Move(String.valueOf(line, start, length), x, y, dir));
+            return true;
+        }
+        char[][] spaces = boardState.getSpaces();
+        long word = PackedWord.EMPTY;
+        int score = 0;
+        for(int i = start; i < start + length; i++) {
+            word = PackedWord.append(word, line[i]);
+            boolean placed = dir == Direction.RIGHT ? spaces[lineIndex][i] == ' ' : spaces[i][lineIndex] == ' ';
+            if(placed) {
+                score += BoardState.LETTER_POINTS[line[i] - 'A'];
+            }
+        }
+        packedMoves.add(PackedMove.pack(word, x, y, dir, score));
+        return true;
+    }
+}
@@ -2,11 +2,15 @@ package solving;
 
 import general.BoardState;
 import general.Move;
-import java.util.Set;
+import java.util.Iterator;
 import utility.Dictionary;
 
 /**
  * Class used to find an exact solution to the problem with a backtracking strategy.
+ * <p>Only the first move from each state is followed. With a move ordering, which
+ * solvers have by default, every move must be generated to know which one goes first,
+ * so the moves are only generated lazily, stopping at the first one, once the ordering
+ * is removed with {@link #setMoveOrdering(MoveOrdering) setMoveOrdering(null)}.</p>
  */
 public class BackTrackingSolver extends Solver {
     
@@ -20,7 +24,7 @@ public class BackTrackingSolver extends Solver {
         int count = 0;
         for(Move m : computeInitialMoves()) {
             initial.doMove(m);
-            if(!solve(initial)) {
+            if(canImprove(initial) && !solve(initial)) {
                 break;  //Absolute maximum found, stop
             }
             initial.undoMove(m);
@@ -42,8 +46,9 @@ public class BackTrackingSolver extends Solver {
      */
     private boolean solve(BoardState current) {
         print(current.toPrettyString());
-        Set<Move> movements = Helper.getPossibleMoves(current, dictionary);
-        if(movements.isEmpty()){
+        //Only the first move is tried, so unless they must be sorted the rest are never generated (see the class doc)
+        Iterator<Move> movements = ordering == null ? iterateMoves(current) : getPossibleMoves(current).iterator();
+        if(!movements.hasNext()){
             if(current.getScore() > best.getScore()){
                 best = new BoardState(current);
                 print("NEW MAX SCORE: " + best.getScore() + "\n");
@@ -53,12 +58,10 @@ public class BackTrackingSolver extends Solver {
             }
             return true;
         }
-        for(Move movement: movements) {
-            current.doMove(movement);
-            boolean result = solve(current);
-            current.undoMove(movement);
-            return result;
-        }
-        return true;
+        Move movement = movements.next();
+        current.doMove(movement);
+        boolean result = !canImprove(current) || solve(current);
+        current.undoMove(movement);
+        return result;
     }
 }
@@ -7,36 +7,72 @@ package solving;
 
 import general.BoardState;
 import general.Move;
-import java.util.HashSet;
-import java.util.Set;
+import general.PackedMove;
+import java.util.Arrays;
 import utility.Dictionary;
 
 /**
  * Class used to find an exact solution to the problem via backtracking with
  * memory. By sacrificing memory performance, the algorithm knows which states
  * have been visited and avoids repeating them, greatly increasing time
- * performance when compared to ordinary backtracking.
+ * performance when compared to ordinary backtracking. A state is marked as
+ * visited when its search starts, and since the best score only grows, reaching
+ * it again can't improve it, so only the fact that it was visited is kept.
+ * Visited states are kept in a {@link TranspositionTable} of fixed size, so when
+ * memory runs out some states may be searched again but memory usage never grows
+ * past the budget.
  */
 public class BackTrackingWithMemorySolver extends Solver {
-    Set<String> visitedStates;
+    TranspositionTable visitedStates;
+    private MoveList[] moveLists = new MoveList[0];	//Reused for the moves at each depth
+    private boolean finished;	//Whether an absolute maximum has been found
     
     public BackTrackingWithMemorySolver(Dictionary dictionary, int[] startingLetters, boolean visual) {
+        this(dictionary, startingLetters, visual, TranspositionTable.DEFAULT_BUDGET);
+    }
+    
+    /**
+     * Creates a new solver whose visited states take at most the specified
+     * amount of memory.
+     * 
+     * @param dictionary The set of valid words.
+     * @param startingLetters The letters assigned to the player initially.
+     * @param visual Whether to run on visual mode or not.
+     * @param memoryBudget The amount of bytes to use for remembering visited states.
+     */
+    public BackTrackingWithMemorySolver(Dictionary dictionary, int[] startingLetters, boolean visual, long memoryBudget) {
+        this(dictionary, startingLetters, visual, new TranspositionTable(memoryBudget));
+    }
+    
+    /**
+     * Creates a new solver that keeps its visited states in the specified
+     * table.
+     * 
+     * @param dictionary The set of valid words.
+     * @param startingLetters The letters assigned to the player initially.
+     * @param visual Whether to run on visual mode or not.
+     * @param visitedStates The table to keep the visited states in.
+     */
+    public BackTrackingWithMemorySolver(Dictionary dictionary, int[] startingLetters, boolean visual, TranspositionTable visitedStates) {
         super(dictionary, startingLetters, visual);
-        visitedStates = new HashSet<>();
+        this.visitedStates = visitedStates;
     }
     
     @Override
     public BoardState solve() {
         print("Initial board:\n" + best.toPrettyString());
-        int count = 0;
+        finished = false;
         for(Move m : computeInitialMoves()) {
-            visitedStates.clear();
             initial.doMove(m);
-            visitedStates.add(initial.toString());
-            if(!solve(initial)) {
-                break;  //Absolute maximum found, stop
+            long hash = initial.getZobristHash();
+            if(!visitedStates.contains(hash) && canImprove(initial)) {
+                visitedStates.add(hash, 1);
+                solve(initial, 1, PackedMove.NONE);
             }
             initial.undoMove(m);
+            if(finished) {
+                break;  //Absolute maximum found, stop
+            }
         }
         print("\n==============================\n");
         print("Optimal solution:");
@@ -50,35 +86,60 @@ public class BackTrackingWithMemorySolver extends Solver {
      * Solves the problem recursively.
      * 
      * @param current The current board state.
-     * @return {@code true} If the solving should continue, {@code false} if an
-     * absolute maximum has been found and the solving should stop.
+     * @param depth The amount of moves made to reach the current board state.
+     * @param lastMove The packed move that led to the current board state, or
+     * {@link PackedMove#NONE} if it wasn't reached from a searched state.
      */
-    private boolean solve(BoardState current) {
-        print(current.toPrettyString());
-        Set<Move> movements = Helper.getPossibleMoves(current, dictionary);
+    private void solve(BoardState current, int depth, long lastMove) {
+        if(visualizer != null) {
+            print(current.toPrettyString());	//Only built when shown, it's the only object created per state
+        }
+        MoveList movements = movesAt(depth);
+        getPossibleMoves(current, depth, lastMove, movements);
         if(movements.isEmpty()){
             if(current.getScore() > best.getScore()){
                 best = new BoardState(current);
                 print("\nNEW MAX SCORE: " + best.getScore() + "\n");
                 if(!current.hasRemainingLetters()) {
-                    return false;
+                    finished = true;
                 }
             }
-            return true;
         }
         else {
-            for(Move movement: movements) {
-                current.doMove(movement);
-                if(!visitedStates.contains(current.toString())) {
-                    visitedStates.add(current.toString());
-                    solve(current);
+            for(int i = 0; i < movements.size(); i++) {
+                long movement = movements.get(i);
+                int added = current.doMove(movement);
+                long hash = current.getZobristHash();
+                if(visitedStates.contains(hash)) {
+                    print("\nAvoiding visited state.\n");
+                }
+                else if(!canImprove(current)) {
+                    print("\nPruning state that can't improve the best score.\n");
                 }
                 else {
-                    print("\nAvoiding visited state.\n");
+                    visitedStates.add(hash, depth + 1);	//Marked while searching it, it can't be reached from itself
+                    solve(current, depth + 1, movement);
+                }
+                current.undoMove(movement, added);
+                if(finished) {
+                    break;
                 }
-                current.undoMove(movement);
             }
-            return true;
         }
     }
+    
+    /**
+     * Returns the empty list of moves for the specified depth, creating it the
+     * first time the depth is reached.
+     */
+    private MoveList movesAt(int depth) {
+        if(depth >= moveLists.length) {
+            moveLists = Arrays.copyOf(moveLists, depth + 1);
+        }
+        if(moveLists[depth] == null) {
+            moveLists[depth] = new MoveList();
+        }
+        moveLists[depth].clear();
+        return moveLists[depth];
+    }
 }
\ No newline at end of file
@@ -5,12 +5,14 @@ import general.BoardState.Direction;
 import general.Move;
 import general.Validator;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
 import utility.Dictionary;
-import utility.WordCondition;
+import utility.Gaddag;
+import utility.LineVisitor;
+import utility.WordVisitor;
+import utility.WordsCache;
 
 /**
  * Helper class for making decisions when solving the problem.
@@ -27,29 +29,50 @@ public class Helper {
      * board state with the specified dictionary.
      */
     public static Set<Move> getPossibleMoves(BoardState boardState, Dictionary dictionary) {
+        return getPossibleMoves(boardState, dictionary, null);
+    }
+    
+    /**
+     * Computes all the possible moves from a given board state and a dictionary
+     * of valid words, looking the words up in the specified cache.
+     *
+     * @param boardState The starting board state.
+     * @param dictionary The set of valid words to play.
+     * @param cache The cache of the dictionary's words, or {@code null} to query
+     * the dictionary directly.
+     * @return A set of valid moves that can be carried out from the specified
+     * board state with the specified dictionary.
+     */
+    public static Set<Move> getPossibleMoves(BoardState boardState, Dictionary dictionary, WordsCache cache) {
         Set<Move> result = new HashSet<Move>();
         if(!boardState.hasRemainingLetters()) {
             return result;	//No moves, return empty result
         }
         
         char[][] spaces = boardState.getSpaces();
+        int[] letters = boardState.getRemainingLetters().clone();	//Changed while searching, validation reads the board's
+        char[] conditions = new char[7];
+        MoveCollector collector = new MoveCollector(boardState, dictionary, result);
         for (int y = 0; y < spaces.length; y++) {
             for (int x = 0; x < spaces[y].length; x++) {
                 if(isValidRange(boardState, x, y, Direction.RIGHT)) {
-                    Collection<String> words = dictionary.giveMeWords(getWordConditions(boardState,x,y,1,0));
-                    for(String word : words) {
-                        Move move = new Move(word, x, y, Direction.RIGHT);
-                        if(Validator.isValidMovement(move, boardState)){
-                            result.add(move);
-                        }
+                    collector.moveTo(x, y, Direction.RIGHT);
+                    int positions = getConditions(boardState, x, y, 1, 0, conditions);
+                    if(cache != null) {
+                        cache.giveMeWords(positions, conditions, letters, BoardState.SIZE - x, collector);
+                    }
+                    else {
+                        dictionary.giveMeWords(positions, conditions, letters, BoardState.SIZE - x, collector);
                     }
                 }
                 if(isValidRange(boardState, x, y, Direction.DOWN)){
-                    for(String word : dictionary.giveMeWords(getWordConditions(boardState,x,y,0,1))){
-                        Move move = new Move(word, x, y, Direction.DOWN);
-                        if(Validator.isValidMovement(move, boardState)){
-                            result.add(move);
-                        }
+                    collector.moveTo(x, y, Direction.DOWN);
+                    int positions = getConditions(boardState, x, y, 0, 1, conditions);
+                    if(cache != null) {
+                        cache.giveMeWords(positions, conditions, letters, BoardState.SIZE - y, collector);
+                    }
+                    else {
+                        dictionary.giveMeWords(positions, conditions, letters, BoardState.SIZE - y, collector);
                     }
                 }
             }
@@ -57,6 +80,29 @@ public class Helper {
         return result;
     }
     
+    /**
+     * Computes all the possible moves from a given board state using a GADDAG. Instead of trying every starting square,
+     * words are only generated outward from the letters already on the board.
+     *
+     * @param boardState The starting board state.
+     * @param gaddag The set of valid words to play.
+     * @param dictionary The same words, to validate the moves with.
+     * @return A set of valid moves that can be carried out from the specified
+     * board state with the specified words.
+     */
+    public static Set<Move> getPossibleMoves(BoardState boardState, Gaddag gaddag, Dictionary dictionary) {
+        Set<Move> result = new HashSet<Move>();
+        if(!boardState.hasRemainingLetters()) {
+            return result;	//No moves, return empty result
+        }
+        
+        GaddagCollector collector = new GaddagCollector(boardState, gaddag, dictionary, result);
+        for (int i = 0; i < BoardState.SIZE; i++) {
+            collector.addMoves(i);
+        }
+        return result;
+    }
+    
     /**
      * Checks if any word could be placed in the specified starting position and direction.
      *
@@ -67,42 +113,154 @@ public class Helper {
      * @return {@code true} If within the maximum length of allowed words there is at least
      * one space and one letter (no letters => can't combine, no spaces => no room)
      */
-    private static boolean isValidRange(BoardState b, int x, int y, Direction dir) {
-        boolean foundSpace = false, foundLetter = false;
-        int deltaX = dir == Direction.RIGHT ? 1 : 0,
-                deltaY = dir == Direction.DOWN ? 1 : 0;
-        char[][] spaces = b.getSpaces();
-        for(int i = 0; i < 7; i++) {
-            if(x < 0 || x >= BoardState.SIZE || y < 0 || y >= BoardState.SIZE) break;
-            if(spaces[y][x] == ' ')  {
-                foundSpace = true;
-            }
-            else {
-                foundLetter = true;
-            }
-            x += deltaX;
-            y += deltaY;
-        }
-        return foundSpace && foundLetter;
+    static boolean isValidRange(BoardState b, int x, int y, Direction dir) {
+        int line = dir == Direction.RIGHT ? b.getRowOccupancy(y) : b.getColumnOccupancy(x),
+                start = dir == Direction.RIGHT ? x : y;
+        int range = ((1 << Math.min(7, BoardState.SIZE - start)) - 1) << start;	//The slots a word could take
+        return (line & range) != 0 && (~line & range) != 0;
     }
     
-    public static Set<WordCondition> getWordConditions(BoardState boardsState, int x, int y, int dirX, int dirY) {
+    /**
+     * Computes the letters that words starting in the specified position and direction must have,
+     * which are the letters already on the board.
+     *
+     * @param boardsState The board to analyze.
+     * @param x The starting column.
+     * @param y The starting row.
+     * @param dirX 1 when going right.
+     * @param dirY 1 when going down.
+     * @param letters An array of 7 characters where to write the letter each position must have.
+     * @return A mask with the bit <i>n</i> set if the position <i>n</i> must have the letter in
+     * {@code letters[n]}.
+     */
+    public static int getConditions(BoardState boardsState, int x, int y, int dirX, int dirY, char[] letters) {
         
-        Set<WordCondition> tokens = new HashSet<WordCondition>();
+        int positions = 0;
         char[][]spaces = boardsState.getSpaces();
         
         for(int index = 0; (index < 7) && (index * dirX +  x < BoardState.SIZE) && (index * dirY + y < BoardState.SIZE) ; index++) {
             
             if(spaces[y + index * dirY][x + index  * dirX]!=' '){
-                
-                if(dirX == 0){
-                    tokens.add(new WordCondition(index,spaces[y + index * dirY][x]));
-                }
-                else{
-                    tokens.add(new WordCondition(index, spaces[y][x + index * dirX]));
+                positions |= 1 << index;
+                letters[index] = spaces[y + index * dirY][x + index * dirX];
+            }
+        }
+        return positions;
+    }
+    
+    /**
+     * Finds the moves on the rows and columns of a board with a GADDAG, adding
+     * them to a set. Only the available letters allowed by the cross-checks
+     * are placed, if the board keeps cross-checks for the dictionary. Words
+     * that are the whole run of letters are then valid as found, any other
+     * word is validated with the dictionary.
+     * <p>Collectors keep their buffers between lines, so a collector must only
+     * be used by one thread at a time.</p>
+     */
+    static class GaddagCollector implements LineVisitor {
+        private final BoardState boardState;
+        private final Gaddag gaddag;
+        private final Dictionary dictionary;
+        private final Set<Move> result;
+        private final boolean crossChecks;
+        private final char[] line = new char[BoardState.SIZE];
+        private final int[] lineChecks = new int[BoardState.SIZE];
+        private final char[] word = new char[7];
+        private final int[] letters;
+        private int lineIndex;
+        private Direction dir;
+        
+        /**
+         * Creates a collector of the moves from the specified board state.
+         *
+         * @param boardState The starting board state.
+         * @param gaddag The set of valid words to play.
+         * @param dictionary The same words, to validate the moves with.
+         * @param result The set to add the valid moves to.
+         */
+        GaddagCollector(BoardState boardState, Gaddag gaddag, Dictionary dictionary, Set<Move> result) {
+            this.boardState = boardState;
+            this.gaddag = gaddag;
+            this.dictionary = dictionary;
+            this.result = result;
+            crossChecks = boardState.hasCrossChecks(dictionary);
+            letters = boardState.getRemainingLetters().clone();	//Changed while searching, validation reads the board's
+        }
+        
+        /**
+         * Adds the valid moves on the specified row and on the specified
+         * column.
+         */
+        void addMoves(int i) {
+            addMoves(i, Direction.RIGHT);
+            addMoves(i, Direction.DOWN);
+        }
+        
+        private void addMoves(int i, Direction dir) {
+            char[][] spaces = boardState.getSpaces();
+            lineIndex = i;
+            this.dir = dir;
+            for (int j = 0; j < BoardState.SIZE; j++) {	//Copied, the search writes on the line
+                int x = dir == Direction.RIGHT ? j : i,
+                        y = dir == Direction.RIGHT ? i : j;
+                line[j] = spaces[y][x];
+                lineChecks[j] = crossChecks && line[j] == ' ' ? boardState.getCrossCheck(x, y, dir) : BoardState.ALL_LETTERS;
+            }
+            for (int j = 0; j < BoardState.SIZE; j++) {
+                if (line[j] != ' ') {
+                    gaddag.giveMeWords(line, j, letters, crossChecks ? lineChecks : null, this);
                 }
             }
         }
-        return tokens;
+        
+        @Override
+        public boolean visit(char[] line, int start, int length) {
+            char[][] spaces = boardState.getSpaces();
+            int x = dir == Direction.RIGHT ? start : lineIndex,
+                    y = dir == Direction.RIGHT ? lineIndex : start;
+            int end = start + length;
+            boolean wholeRun = (start == 0 || line[start - 1] == ' ') && (end == BoardState.SIZE || line[end] == ' ');
+            boolean placed = false;
+            for (int i = 0; i < length; i++) {
+                word[i] = line[start + i];
+                placed |= dir == Direction.RIGHT ? spaces[y][x + i] == ' ' : spaces[y + i][x] == ' ';
+            }
+            if (crossChecks && wholeRun ? placed : Validator.isValidMovement(word, length, x, y, dir, boardState, dictionary)) {
+                result.add(new Move(String.valueOf(word, 0, length), x, y, dir));
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Turns the words found by the dictionary into moves from a fixed starting square, adding the valid ones to a set.
+     */
+    private static class MoveCollector implements WordVisitor {
+        private BoardState boardState;
+        private Dictionary dictionary;
+        private Set<Move> result;
+        private int x, y;
+        private Direction dir;
+        
+        MoveCollector(BoardState boardState, Dictionary dictionary, Set<Move> result) {
+            this.boardState = boardState;
+            this.dictionary = dictionary;
+            this.result = result;
+        }
+        
+        void moveTo(int x, int y, Direction dir) {
+            this.x = x;
+            this.y = y;
+            this.dir = dir;
+        }
+        
+        @Override
+        public boolean visit(char[] word, int length) {
+            Move move = new Move(String.valueOf(word, 0, length), x, y, dir);
+            if(Validator.isValidMovement(move, boardState, dictionary)){
+                result.add(move);
+            }
+            return true;
+        }
     }
 }
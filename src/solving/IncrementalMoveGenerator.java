@@ -0,0 +1,190 @@
+package solving;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.PackedMove;
+import java.util.Arrays;
+import utility.Dictionary;
+import utility.PackedWord;
+
+/**
+ * Generates moves through anchors like {@link AnchorMoveGenerator}, but keeps
+ * the moves found on each row and column so that, after a move, only the lines
+ * it changed are generated again. A move only changes the lines of the
+ * squares it fills and of the empty squares that end the words it forms,
+ * whose cross-checks and anchors are the only ones that change. The moves on
+ * any other line stay valid as long as there are letters left for them.
+ * <p>The moves are kept by depth, so a search can generate the moves of a
+ * board from the ones of its parent, and go back to the parent to try its
+ * next move. Generators keep their buffers between calls, so a generator must
+ * only be used by one thread at a time.</p>
+ */
+public class IncrementalMoveGenerator {
+    private static final int LINES = 2 * BoardState.SIZE;	//Rows, then columns
+
+    private final AnchorMoveGenerator generator;
+    private MoveList[][] movesByDepth = new MoveList[0][];	//The moves found on each line, for each depth
+    private final boolean[] changed = new boolean[LINES];
+    private final int[] needed = new int[26];
+
+    /**
+     * Creates a generator of moves with the words in the specified dictionary.
+     *
+     * @param dictionary The set of valid words to play.
+     */
+    public IncrementalMoveGenerator(Dictionary dictionary) {
+        generator = new AnchorMoveGenerator(dictionary);
+    }
+
+    /**
+     * Adds all the possible moves from the specified board state to a list,
+     * packed (see {@link PackedMove}), and keeps them for the boards reached
+     * from it.
+     *
+     * @param boardState The starting board state, created with this
+     * generator's dictionary.
+     * @param depth The depth of the board state in the search.
+     * @param result The list to add the valid moves to.
+     * @throws IllegalArgumentException If the board doesn't keep cross-checks
+     * for this generator's dictionary.
+     */
+    public void generate(BoardState boardState, int depth, MoveList result) {
+        MoveList[] lines = linesAt(depth);
+        for(int i = 0; i < LINES; i++) {
+            generateLine(boardState, i, lines[i], result);
+        }
+    }
+
+    /**
+     * Adds all the possible moves from the specified board state to a list,
+     * packed (see {@link PackedMove}), generating again only the lines changed
+     * by the last move. The moves of the previous board must be the last ones
+     * generated for the previous depth.
+     *
+     * @param boardState The starting board state, created with this
+     * generator's dictionary.
+     * @param depth The depth of the board state in the search.
+     * @param lastMove The packed move that led to the board state, from the
+     * board generated for {@code depth - 1}.
+     * @param result The list to add the valid moves to.
+     * @throws IllegalArgumentException If the board doesn't keep cross-checks
+     * for this generator's dictionary.
+     * @throws IllegalStateException If no moves were generated for the previous
+     * depth.
+     */
+    public void generate(BoardState boardState, int depth, long lastMove, MoveList result) {
+        if(depth < 1 || depth > movesByDepth.length || movesByDepth[depth - 1] == null) {
+            throw new IllegalStateException("No moves were generated for depth " + (depth - 1));
+        }
+        MoveList[] previous = movesByDepth[depth - 1], lines = linesAt(depth);
+        findChangedLines(boardState, lastMove);
+        for(int i = 0; i < LINES; i++) {
+            if(changed[i]) {
+                generateLine(boardState, i, lines[i], result);
+                continue;
+            }
+            for(int j = 0; j < previous[i].size(); j++) {
+                long move = previous[i].get(j);
+                if(hasLettersFor(boardState, move)) {
+                    lines[i].add(move);
+                    result.add(move);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the moves of the specified line, keeping them in the line's
+     * list and adding them to the result.
+     */
+    private void generateLine(BoardState boardState, int line, MoveList moves, MoveList result) {
+        generator.generate(boardState, line % BoardState.SIZE, line < BoardState.SIZE ? Direction.RIGHT : Direction.DOWN, moves);
+        for(int j = 0; j < moves.size(); j++) {
+            result.add(moves.get(j));
+        }
+    }
+
+    /**
+     * Marks the rows and columns of the squares filled by the specified move,
+     * and of the empty squares at both ends of the letters around them.
+     */
+    private void findChangedLines(BoardState boardState, long move) {
+        Arrays.fill(changed, false);
+        char[][] spaces = boardState.getSpaces();
+        int x = PackedMove.getX(move), y = PackedMove.getY(move),
+                length = PackedWord.length(PackedMove.getWord(move));
+        boolean right = PackedMove.getDirection(move) == Direction.RIGHT;
+        for(int i = 0; i < length; i++) {
+            int squareX = right ? x + i : x, squareY = right ? y : y + i;
+            mark(squareX, squareY);
+            markEnd(spaces, squareX, squareY, -1, 0);
+            markEnd(spaces, squareX, squareY, 1, 0);
+            markEnd(spaces, squareX, squareY, 0, -1);
+            markEnd(spaces, squareX, squareY, 0, 1);
+        }
+    }
+
+    /**
+     * Marks the lines of the first empty square from the specified one in the
+     * specified direction, if it's on the board.
+     */
+    private void markEnd(char[][] spaces, int x, int y, int deltaX, int deltaY) {
+        do {
+            x += deltaX;
+            y += deltaY;
+        } while(x >= 0 && y >= 0 && x < BoardState.SIZE && y < BoardState.SIZE && spaces[y][x] != ' ');
+        if(x >= 0 && y >= 0 && x < BoardState.SIZE && y < BoardState.SIZE) {
+            mark(x, y);
+        }
+    }
+
+    private void mark(int x, int y) {
+        changed[y] = true;
+        changed[BoardState.SIZE + x] = true;
+    }
+
+    /**
+     * Checks that there are enough letters left to place the specified move,
+     * which was valid on a board with the same letters in its line.
+     */
+    private boolean hasLettersFor(BoardState boardState, long move) {
+        char[][] spaces = boardState.getSpaces();
+        int[] remainingLetters = boardState.getRemainingLetters();
+        int x = PackedMove.getX(move), y = PackedMove.getY(move),
+                length = PackedWord.length(PackedMove.getWord(move));
+        boolean right = PackedMove.getDirection(move) == Direction.RIGHT;
+        boolean result = true;
+        for(int i = 0; i < length; i++) {
+            if((right ? spaces[y][x + i] : spaces[y + i][x]) == ' ') {
+                int letter = PackedMove.getLetter(move, i) - 'A';
+                if(++needed[letter] > remainingLetters[letter]) {
+                    result = false;
+                }
+            }
+        }
+        for(int i = 0; i < length; i++) {	//Leave the counts clean for the next move
+            needed[PackedMove.getLetter(move, i) - 'A'] = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the empty lists of moves of each line for the specified depth,
+     * creating them the first time the depth is reached.
+     */
+    private MoveList[] linesAt(int depth) {
+        if(depth >= movesByDepth.length) {
+            movesByDepth = Arrays.copyOf(movesByDepth, depth + 1);
+        }
+        if(movesByDepth[depth] == null) {
+            movesByDepth[depth] = new MoveList[LINES];
+            for(int i = 0; i < LINES; i++) {
+                movesByDepth[depth][i] = new MoveList();
+            }
+        }
+        for(MoveList each : movesByDepth[depth]) {
+            each.clear();
+        }
+        return movesByDepth[depth];
+    }
+}
@@ -0,0 +1,143 @@
+package solving;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import utility.Dictionary;
+import utility.Gaddag;
+import utility.WordsCache;
+
+/**
+ * Iterates the possible moves from a board state, generating them only as
+ * they're needed, a step at a time. Each step generates and validates the moves
+ * through the anchors of one row or column, with the GADDAG from the letters
+ * of one row and column, or with the dictionary from one starting square and
+ * direction. Callers that only need a few moves don't pay for the rest.
+ * <p>The moves are iterated in the same order as generating every move at
+ * once, unless a source of randomness is given, in which case the steps are
+ * taken in a random order and the moves of each step are shuffled, so the
+ * first moves iterated can come from anywhere on the board.</p>
+ * <p>The board state must not change while iterating.</p>
+ */
+class MoveIterator implements Iterator<Move> {
+    private final BoardState boardState;
+    private final Dictionary dictionary;
+    private final Gaddag gaddag;
+    private final AnchorMoveGenerator anchorGenerator;
+    private final PackedMoveGenerator generator;
+    private final WordsCache cache;
+    private final int steps;
+    private final Random random;
+    private final int[] order;	//The steps in the order they're taken, or null to take them in order
+    private final MoveList moves = new MoveList();	//The moves of the current step
+    private Set<Move> gaddagMoves;
+    private Helper.GaddagCollector gaddagCollector;
+    private int step, next;
+
+    /**
+     * Creates an iterator of the moves from the specified board state, which
+     * generates them through the anchors if there is an anchor generator, with
+     * the GADDAG if there is one, or with the dictionary (through the cache, if
+     * there is one) otherwise.
+     *
+     * @param boardState The board state to move from.
+     * @param dictionary The set of valid words to play.
+     * @param gaddag The same words, or {@code null}.
+     * @param anchorGenerator The generator of moves through anchors, or
+     * {@code null}.
+     * @param generator The generator of moves with the dictionary.
+     * @param cache The cache of the dictionary's words, or {@code null}.
+     * @param random The source of randomness to iterate the moves in a random
+     * order, or {@code null} to iterate them in the order they're generated.
+     */
+    MoveIterator(BoardState boardState, Dictionary dictionary, Gaddag gaddag, AnchorMoveGenerator anchorGenerator,
+            PackedMoveGenerator generator, WordsCache cache, Random random) {
+        this.boardState = boardState;
+        this.dictionary = dictionary;
+        this.gaddag = anchorGenerator == null ? gaddag : null;
+        this.anchorGenerator = anchorGenerator;
+        this.generator = generator;
+        this.cache = cache;
+        if(!boardState.hasRemainingLetters()) {
+            steps = 0;	//No moves
+        }
+        else if(anchorGenerator != null) {
+            steps = 2 * BoardState.SIZE;
+        }
+        else if(this.gaddag != null) {
+            steps = BoardState.SIZE;
+            gaddagMoves = new HashSet<Move>();
+            gaddagCollector = new Helper.GaddagCollector(boardState, gaddag, dictionary, gaddagMoves);
+        }
+        else {
+            steps = 2 * BoardState.SIZE * BoardState.SIZE;
+        }
+        this.random = random;
+        if(random == null) {
+            order = null;
+        }
+        else {
+            order = new int[steps];
+            for(int i = 0; i < steps; i++) {
+                int j = random.nextInt(i + 1);	//Inside-out shuffle
+                order[i] = order[j];
+                order[j] = i;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while(next == moves.size() && step < steps) {
+            moves.clear();
+            next = 0;
+            generateStep(order == null ? step : order[step]);
+            step++;
+            if(random != null) {
+                moves.shuffle(random);
+            }
+        }
+        return next < moves.size();
+    }
+
+    @Override
+    public Move next() {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return PackedMove.toMove(moves.get(next++));
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Generates the moves of the specified step, in the same order as
+     * generating every move at once.
+     */
+    private void generateStep(int step) {
+        Direction dir = step % 2 == 0 ? Direction.RIGHT : Direction.DOWN;
+        if(anchorGenerator != null) {
+            anchorGenerator.generate(boardState, step / 2, dir, moves);
+        }
+        else if(gaddag != null) {
+            gaddagMoves.clear();
+            gaddagCollector.addMoves(step);
+            for(Move m : gaddagMoves) {
+                moves.add(PackedMove.pack(m, boardState.getPoints(m)));
+            }
+        }
+        else {
+            int square = step / 2;
+            generator.generate(boardState, dictionary, cache, square % BoardState.SIZE, square / BoardState.SIZE, dir, moves);
+        }
+    }
+}
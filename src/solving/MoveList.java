@@ -0,0 +1,90 @@
+package solving;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import general.PackedMove;
+
+/**
+ * Growable list of packed moves (see {@link PackedMove}). Lists are meant to be cleared and filled again, so that once
+ * they have grown enough, generating moves into them creates no objects.
+ *
+ */
+public class MoveList {
+	private long[] moves;
+	private int size;
+	
+	public MoveList() {
+		this(64);
+	}
+	
+	/**
+	 * Creates an empty list with room for the specified amount of moves before growing
+	 * 
+	 * @param capacity The amount of moves expected
+	 */
+	public MoveList(int capacity) {
+		moves = new long[Math.max(1, capacity)];
+	}
+	
+	/**
+	 * Adds the specified packed move to the end of the list
+	 */
+	public void add(long move) {
+		if (size == moves.length) {
+			moves = Arrays.copyOf(moves, size * 2);
+		}
+		moves[size++] = move;
+	}
+	
+	/**
+	 * Returns the packed move in the specified position
+	 */
+	public long get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return moves[index];
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Removes every move from the list, keeping its room
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * Puts the moves in a random order
+	 * 
+	 * @param random The source of randomness
+	 */
+	public void shuffle(Random random) {
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			long aux = moves[i];
+			moves[i] = moves[j];
+			moves[j] = aux;
+		}
+	}
+	
+	/**
+	 * Sorts the moves from the highest scoring to the lowest
+	 */
+	public void sortByScore() {
+		Arrays.sort(moves, 0, size);
+		for (int i = 0, j = size - 1; i < j; i++, j--) {
+			long aux = moves[i];
+			moves[i] = moves[j];
+			moves[j] = aux;
+		}
+	}
+}
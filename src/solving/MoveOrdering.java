@@ -0,0 +1,30 @@
+package solving;
+
+import general.BoardState;
+import general.Move;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Strategy to decide in which order the solvers try the moves from a board state. Trying the best moves first finds
+ * good solutions early, which lets the exact solvers prune more states.
+ */
+public interface MoveOrdering {
+
+	/**
+	 * Sorts the specified moves in the order they should be tried.
+	 * 
+	 * @param moves The moves to sort.
+	 * @param state The board state the moves would be made on.
+	 * @return The same moves, in the order they should be tried.
+	 */
+	public List<Move> order(Collection<Move> moves, BoardState state);
+	
+	/**
+	 * Sorts the specified packed moves in the order they should be tried, in place.
+	 * 
+	 * @param moves The packed moves to sort.
+	 * @param state The board state the moves would be made on.
+	 */
+	public void order(MoveList moves, BoardState state);
+}
@@ -0,0 +1,127 @@
+package solving;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.PackedMove;
+import general.Validator;
+import utility.Dictionary;
+import utility.PackedWord;
+import utility.WordVisitor;
+import utility.WordsCache;
+
+/**
+ * Generates the same moves as {@link Helper#getPossibleMoves(BoardState, Dictionary, WordsCache)}, but packed (see
+ * {@link PackedMove}) into a {@link MoveList}. Generators keep their buffers between calls, so once the lists have
+ * grown enough no objects are created. A generator must only be used by one thread at a time.
+ *
+ */
+public class PackedMoveGenerator implements WordVisitor {
+	private final int[] letters = new int[26];
+	private final char[] conditions = new char[PackedWord.MAX_LENGTH];
+	private BoardState boardState;
+	private Dictionary dictionary;
+	private MoveList result;
+	private int x, y;
+	private Direction dir;
+	
+	/**
+	 * Adds all the possible moves from a given board state and a dictionary of valid words to a list.
+	 *
+	 * @param boardState The starting board state.
+	 * @param dictionary The set of valid words to play.
+	 * @param cache The cache of the dictionary's words, or {@code null} to query the dictionary directly.
+	 * @param result The list to add the valid moves to.
+	 */
+	public void generate(BoardState boardState, Dictionary dictionary, WordsCache cache, MoveList result) {
+		if (start(boardState, dictionary, result)) {
+			for (int y = 0; y < BoardState.SIZE; y++) {
+				for (int x = 0; x < BoardState.SIZE; x++) {
+					generateFrom(x, y, Direction.RIGHT, cache);
+					generateFrom(x, y, Direction.DOWN, cache);
+				}
+			}
+		}
+		end();
+	}
+	
+	/**
+	 * Adds the possible moves from a given board state and a dictionary of valid words that start in the specified
+	 * square and direction to a list.
+	 *
+	 * @param boardState The starting board state.
+	 * @param dictionary The set of valid words to play.
+	 * @param cache The cache of the dictionary's words, or {@code null} to query the dictionary directly.
+	 * @param x The starting column.
+	 * @param y The starting row.
+	 * @param dir The direction of the moves.
+	 * @param result The list to add the valid moves to.
+	 */
+	public void generate(BoardState boardState, Dictionary dictionary, WordsCache cache, int x, int y, Direction dir,
+			MoveList result) {
+		if (start(boardState, dictionary, result)) {
+			generateFrom(x, y, dir, cache);
+		}
+		end();
+	}
+	
+	/**
+	 * Prepares to generate moves from the specified board state.
+	 *
+	 * @return {@code true} If there can be any moves.
+	 */
+	private boolean start(BoardState boardState, Dictionary dictionary, MoveList result) {
+		if (!boardState.hasRemainingLetters()) {
+			return false;	//No moves
+		}
+		this.boardState = boardState;
+		this.dictionary = dictionary;
+		this.result = result;
+		System.arraycopy(boardState.getRemainingLetters(), 0, letters, 0, letters.length);	//Changed while searching
+		return true;
+	}
+	
+	private void end() {
+		this.boardState = null;
+		this.dictionary = null;
+		this.result = null;
+	}
+	
+	/**
+	 * Finds the valid words that start in the specified square and direction.
+	 */
+	private void generateFrom(int x, int y, Direction dir, WordsCache cache) {
+		if (!Helper.isValidRange(boardState, x, y, dir)) {
+			return;
+		}
+		this.x = x;
+		this.y = y;
+		this.dir = dir;
+		int positions = dir == Direction.RIGHT ? Helper.getConditions(boardState, x, y, 1, 0, conditions)
+				: Helper.getConditions(boardState, x, y, 0, 1, conditions);
+		int maxLength = BoardState.SIZE - (dir == Direction.RIGHT ? x : y);
+		if (cache != null) {
+			cache.giveMeWords(positions, conditions, letters, maxLength, this);
+		}
+		else {
+			dictionary.giveMeWords(positions, conditions, letters, maxLength, this);
+		}
+	}
+	
+	@Override
+	public boolean visit(char[] word, int length) {
+		if (Validator.isValidMovement(word, length, x, y, dir, boardState, dictionary)) {
+			char[][] spaces = boardState.getSpaces();
+			int deltaX = dir == Direction.RIGHT ? 1 : 0, deltaY = 1 - deltaX;
+			long packed = PackedWord.EMPTY;
+			int score = 0;
+			for (int i = 0; i < length; i++) {
+				packed = PackedWord.append(packed, word[i]);
+				if (spaces[y + i * deltaY][x + i * deltaX] == ' ') {
+					score += BoardState.LETTER_POINTS[word[i] - 'A'];
+				}
+			}
+			result.add(PackedMove.pack(packed, x, y, dir, score));
+		}
+		return true;
+	}
+}
@@ -0,0 +1,276 @@
+package solving;
+
+import general.BoardState;
+import general.Move;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import utility.Dictionary;
+
+/**
+ * Class used to find an exact solution to the problem via backtracking with
+ * memory, splitting the search tree over a fork-join pool. Each task searches
+ * its own copy of the board, and all of them share the visited states and the
+ * best solution found so far. Visited states are kept in a
+ * {@link TranspositionTable} of fixed size shared by every thread, so memory
+ * usage never grows past the budget. Only the thread calling
+ * {@link #solve()} shows progress, so the visualizer is never used from the
+ * search threads. Each call to {@link #solve()} searches on a pool of its
+ * own, which is shut down once the search ends.
+ */
+public class ParallelBackTrackingSolver extends Solver {
+    private static final int SPLIT_DEPTH = 2;	//Moves below this depth are searched in the same task
+    private static final long REPORT_INTERVAL = 100;	//Milliseconds between checks for a new best solution
+
+    private final int parallelism;
+    private final TranspositionTable visitedStates;
+    private final AtomicReference<BoardState> bestState = new AtomicReference<>();
+    private volatile boolean finished;	//Whether an absolute maximum has been found
+
+    public ParallelBackTrackingSolver(Dictionary dictionary, int[] startingLetters, boolean visual) {
+        this(dictionary, startingLetters, visual, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new solver that searches with the specified amount of threads.
+     *
+     * @param dictionary The set of valid words.
+     * @param startingLetters The letters assigned to the player initially.
+     * @param visual Whether to run on visual mode or not.
+     * @param parallelism The amount of threads to search with.
+     * @throws IllegalArgumentException If the amount of threads isn't positive.
+     */
+    public ParallelBackTrackingSolver(Dictionary dictionary, int[] startingLetters, boolean visual, int parallelism) {
+        this(dictionary, startingLetters, visual, parallelism, TranspositionTable.DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates a new solver that searches with the specified amount of threads,
+     * whose visited states take at most the specified amount of memory.
+     *
+     * @param dictionary The set of valid words.
+     * @param startingLetters The letters assigned to the player initially.
+     * @param visual Whether to run on visual mode or not.
+     * @param parallelism The amount of threads to search with.
+     * @param memoryBudget The amount of bytes to use for remembering visited states.
+     * @throws IllegalArgumentException If the amount of threads isn't positive,
+     * or the budget isn't valid for a {@link TranspositionTable}.
+     */
+    public ParallelBackTrackingSolver(Dictionary dictionary, int[] startingLetters, boolean visual, int parallelism,
+            long memoryBudget) {
+        super(dictionary, startingLetters, visual);
+        if(parallelism <= 0) {
+            throw new IllegalArgumentException("Invalid amount of threads: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        visitedStates = new TranspositionTable(memoryBudget, false, true);
+    }
+
+    @Override
+    public BoardState solve() {
+        print("Initial board:\n" + best.toPrettyString());
+        bestState.set(best);
+        visitedStates.clear();
+        finished = false;
+        List<SearchTask> tasks = new ArrayList<>();
+        for(Move m : computeInitialMoves()) {
+            BoardState state = new BoardState(initial);
+            state.doMove(m);
+            if(canImprove(state) && visitedStates.add(state.getZobristHash(), 1)) {
+                tasks.add(new SearchTask(state, 1));
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for(SearchTask task : tasks) {
+                pool.execute(task);
+            }
+            BoardState reported = best;
+            for(SearchTask task : tasks) {
+                reported = await(task, reported);
+                task.join();	//Rethrows whatever the task threw
+            }
+            report(reported);
+        }
+        finally {
+            pool.shutdown();	//Its threads would otherwise idle until they time out
+        }
+        best = bestState.get();
+        print("\n==============================\n");
+        print("Optimal solution:");
+        print("\n==============================\n");
+        print(best.toPrettyString());
+        print("Score: " + best.getScore() + "\n");
+        return best;
+    }
+
+    /**
+     * Generates the valid moves from the specified board state. The words
+     * cache can't be shared between threads, so it's never used, and neither
+     * is the anchor generator, each call gets its own. Neither is the parallel
+     * move generator, the search is already split between the threads.
+     */
+    @Override
+    protected Set<Move> generateMoves(BoardState b) {
+        if(anchorGenerator != null) {
+            return new AnchorMoveGenerator(dictionary).getPossibleMoves(b);
+        }
+        if(gaddag != null) {
+            return Helper.getPossibleMoves(b, gaddag, dictionary);
+        }
+        return Helper.getPossibleMoves(b, dictionary);
+    }
+
+    /**
+     * Iterates the valid moves from the specified board state with generators
+     * of its own, like {@link #generateMoves(BoardState)}.
+     */
+    @Override
+    protected Iterator<Move> iterateMoves(BoardState b, Random random) {
+        return new MoveIterator(b, dictionary, gaddag, anchorGenerator != null ? new AnchorMoveGenerator(dictionary) : null,
+                new PackedMoveGenerator(), null, random);
+    }
+
+    /**
+     * Evaluates if the specified board state can lead to a higher score than
+     * the best one found by any task.
+     */
+    @Override
+    protected boolean canImprove(BoardState b) {
+        return bound == null || bound.upperBound(b) > bestState.get().getScore();
+    }
+
+    /**
+     * Waits for the specified task to finish, showing every new best solution
+     * found meanwhile. Waiting with a timeout from outside the pool doesn't run
+     * any task in the calling thread.
+     *
+     * @param task The task to wait for.
+     * @param reported The best solution last shown.
+     * @return The best solution last shown once the task finished.
+     */
+    private BoardState await(SearchTask task, BoardState reported) {
+        while(true) {
+            try {
+                task.get(REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+                return reported;
+            }
+            catch(TimeoutException e) {
+                reported = report(reported);
+            }
+            catch(ExecutionException e) {
+                return reported;
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return reported;
+            }
+        }
+    }
+
+    /**
+     * Shows the best solution found by the tasks if it isn't the one last
+     * shown. Only called from the thread that started the search.
+     *
+     * @param reported The best solution last shown.
+     * @return The best solution now.
+     */
+    private BoardState report(BoardState reported) {
+        BoardState current = bestState.get();
+        if(current != reported) {
+            print("\nNEW MAX SCORE: " + current.getScore() + "\n");
+        }
+        return current;
+    }
+
+    /**
+     * Replaces the best solution with a copy of the specified board state if
+     * it has a higher score. Called from the search threads, so it doesn't
+     * show anything.
+     */
+    private void offer(BoardState current) {
+        BoardState previous = bestState.get();
+        while(current.getScore() > previous.getScore()) {
+            BoardState copy = new BoardState(current);
+            if(bestState.compareAndSet(previous, copy)) {
+                if(!current.hasRemainingLetters()) {
+                    finished = true;
+                }
+                return;
+            }
+            previous = bestState.get();
+        }
+    }
+
+    /**
+     * Task that searches every state reachable from a board state. Near the
+     * root of the tree each move is searched in a new task, deeper it's
+     * searched in the same one.
+     */
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final BoardState state;
+        private final int depth;
+
+        SearchTask(BoardState state, int depth) {
+            this.state = state;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if(finished) {
+                return;
+            }
+            if(depth >= SPLIT_DEPTH) {
+                solve(state, depth);
+                return;
+            }
+            Collection<Move> movements = getPossibleMoves(state);
+            if(movements.isEmpty()) {
+                offer(state);
+                return;
+            }
+            List<SearchTask> tasks = new ArrayList<>();
+            for(Move movement : movements) {
+                BoardState next = new BoardState(state);
+                next.doMove(movement);
+                if(canImprove(next) && visitedStates.add(next.getZobristHash(), depth + 1)) {
+                    tasks.add(new SearchTask(next, depth + 1));
+                }
+            }
+            invokeAll(tasks);
+        }
+
+        /**
+         * Solves the problem recursively on this task's board state, reached
+         * with the specified amount of moves.
+         */
+        private void solve(BoardState current, int depth) {
+            Collection<Move> movements = getPossibleMoves(current);
+            if(movements.isEmpty()) {
+                offer(current);
+                return;
+            }
+            for(Move movement : movements) {
+                if(finished) {
+                    return;	//Absolute maximum found, stop
+                }
+                current.doMove(movement);
+                if(canImprove(current) && visitedStates.add(current.getZobristHash(), depth + 1)) {
+                    solve(current, depth + 1);
+                }
+                current.undoMove(movement);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package solving;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import utility.Dictionary;
+import utility.Gaddag;
+
+/**
+ * Generates the possible moves from a board state by splitting the rows and
+ * columns over a fork-join pool. Each part of the board is generated into its
+ * own list with its own generator, and the lists are joined once every part is
+ * done, so no set is shared between threads. The parts are each row or column
+ * through the anchors, each row and column with the GADDAG, or the starting
+ * squares of each row with the dictionary. The words cache can't be shared
+ * between threads, so it's never used.
+ * <p>Generators keep their buffers between calls, so a generator must only be
+ * used by one thread at a time, although it uses several while generating.</p>
+ * <p>A generator created with an amount of threads owns its pool, which must
+ * be shut down with {@link #close()} once the generator isn't needed.</p>
+ */
+public class ParallelMoveGenerator {
+    private static final int PARTS = 2 * BoardState.SIZE;
+
+    private final Dictionary dictionary;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;	//Whether the pool was created by this generator
+    private final MoveList[] partialMoves = new MoveList[PARTS];
+    private final AnchorMoveGenerator[] anchorGenerators = new AnchorMoveGenerator[PARTS];
+    private final PackedMoveGenerator[] generators = new PackedMoveGenerator[BoardState.SIZE];
+    private BoardState boardState;
+    private Gaddag gaddag;
+    private boolean anchors;
+
+    /**
+     * Creates a generator of moves with the words in the specified dictionary,
+     * which generates with the specified amount of threads on a pool of its
+     * own, shut down by {@link #close()}.
+     *
+     * @param dictionary The set of valid words to play.
+     * @param parallelism The amount of threads to generate with.
+     * @throws IllegalArgumentException If the amount of threads isn't positive.
+     */
+    public ParallelMoveGenerator(Dictionary dictionary, int parallelism) {
+        this(dictionary, new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Creates a generator of moves with the words in the specified dictionary,
+     * which generates on the specified pool.
+     *
+     * @param dictionary The set of valid words to play.
+     * @param pool The pool to generate on, which is left running by
+     * {@link #close()}.
+     */
+    public ParallelMoveGenerator(Dictionary dictionary, ForkJoinPool pool) {
+        this(dictionary, pool, false);
+    }
+
+    private ParallelMoveGenerator(Dictionary dictionary, ForkJoinPool pool, boolean ownsPool) {
+        this.dictionary = dictionary;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        for(int i = 0; i < PARTS; i++) {
+            partialMoves[i] = new MoveList();
+            anchorGenerators[i] = new AnchorMoveGenerator(dictionary);
+        }
+        for(int i = 0; i < BoardState.SIZE; i++) {
+            generators[i] = new PackedMoveGenerator();
+        }
+    }
+
+    /**
+     * Shuts down the pool of this generator if it created it, after which it
+     * can't generate any more. Pools given to the generator are left running.
+     */
+    public void close() {
+        if(ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes all the possible moves from the specified board state.
+     *
+     * @param boardState The starting board state.
+     * @param gaddag A GADDAG with the same words as the dictionary, to
+     * generate with, or {@code null}.
+     * @param anchors Whether to generate through the anchors of the board (see
+     * {@link AnchorMoveGenerator}), which takes precedence over the GADDAG.
+     * @return A set of valid moves that can be carried out from the specified
+     * board state.
+     * @throws IllegalArgumentException If generating through anchors and the
+     * board doesn't keep cross-checks for this generator's dictionary.
+     */
+    public Set<Move> getPossibleMoves(BoardState boardState, Gaddag gaddag, boolean anchors) {
+        Set<Move> result = new HashSet<Move>();
+        int parts = generateParts(boardState, gaddag, anchors);
+        for(int i = 0; i < parts; i++) {
+            for(int j = 0; j < partialMoves[i].size(); j++) {
+                result.add(PackedMove.toMove(partialMoves[i].get(j)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds all the possible moves from the specified board state to a list,
+     * packed (see {@link PackedMove}).
+     *
+     * @param boardState The starting board state.
+     * @param gaddag A GADDAG with the same words as the dictionary, to
+     * generate with, or {@code null}.
+     * @param anchors Whether to generate through the anchors of the board (see
+     * {@link AnchorMoveGenerator}), which takes precedence over the GADDAG.
+     * @param result The list to add the valid moves to.
+     * @throws IllegalArgumentException If generating through anchors and the
+     * board doesn't keep cross-checks for this generator's dictionary.
+     */
+    public void generate(BoardState boardState, Gaddag gaddag, boolean anchors, MoveList result) {
+        int parts = generateParts(boardState, gaddag, anchors);
+        for(int i = 0; i < parts; i++) {
+            for(int j = 0; j < partialMoves[i].size(); j++) {
+                result.add(partialMoves[i].get(j));
+            }
+        }
+    }
+
+    /**
+     * Generates the moves of every part of the board into its list, in
+     * parallel.
+     *
+     * @return The amount of parts the board was split into.
+     */
+    private int generateParts(BoardState boardState, Gaddag gaddag, boolean anchors) {
+        if(anchors && !boardState.hasCrossChecks(dictionary)) {
+            throw new IllegalArgumentException("The board doesn't keep cross-checks for this dictionary");
+        }
+        int parts = anchors ? PARTS : BoardState.SIZE;
+        for(int i = 0; i < parts; i++) {
+            partialMoves[i].clear();
+        }
+        if(!boardState.hasRemainingLetters()) {
+            return parts;	//No moves
+        }
+        this.boardState = boardState;
+        this.gaddag = gaddag;
+        this.anchors = anchors;
+        pool.invoke(new PartsTask(0, parts));
+        this.boardState = null;
+        this.gaddag = null;
+        return parts;
+    }
+
+    /**
+     * Generates the moves of the specified part of the board into its list.
+     */
+    private void generatePart(int part) {
+        MoveList moves = partialMoves[part];
+        if(anchors) {
+            anchorGenerators[part].generate(boardState, part / 2, part % 2 == 0 ? Direction.RIGHT : Direction.DOWN, moves);
+        }
+        else if(gaddag != null) {
+            Set<Move> found = new HashSet<Move>();
+            new Helper.GaddagCollector(boardState, gaddag, dictionary, found).addMoves(part);
+            for(Move m : found) {
+                moves.add(PackedMove.pack(m, boardState.getPoints(m)));
+            }
+        }
+        else {
+            for(int x = 0; x < BoardState.SIZE; x++) {
+                generators[part].generate(boardState, dictionary, null, x, part, Direction.RIGHT, moves);
+                generators[part].generate(boardState, dictionary, null, x, part, Direction.DOWN, moves);
+            }
+        }
+    }
+
+    /**
+     * Task that generates a range of parts of the board, splitting it in
+     * halves until each task has a single part.
+     */
+    private class PartsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+
+        PartsTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from == 1) {
+                generatePart(from);
+                return;
+            }
+            int middle = (from + to) / 2;
+            invokeAll(new PartsTask(from, middle), new PartsTask(middle, to));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package solving;
+
+import general.BoardState;
+
+/**
+ * Upper bound that assumes every remaining letter will be placed on the board. Since a move scores the points of the
+ * letters it places, no board state can score more than that.
+ */
+public class RemainingLettersBound implements UpperBound {
+
+	@Override
+	public int upperBound(BoardState state) {
+		int result = state.getScore();
+		int[] remaining = state.getRemainingLetters();
+		for (int i = 0; i < remaining.length; i++) {
+			result += remaining[i] * BoardState.LETTER_POINTS[i];
+		}
+		return result;
+	}
+}
@@ -0,0 +1,36 @@
+package solving;
+
+import general.BoardState;
+import general.Move;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Move ordering that tries the moves that score the most points first.
+ */
+public class ScoreOrdering implements MoveOrdering {
+	private static final Comparator<Move> HIGHEST_SCORE_FIRST = new Comparator<Move>() {
+		@Override
+		public int compare(Move m1, Move m2) {
+			return Integer.compare(m2.getScore(), m1.getScore());
+		}
+	};
+
+	@Override
+	public List<Move> order(Collection<Move> moves, BoardState state) {
+		List<Move> result = new ArrayList<Move>(moves);
+		for (Move m : result) {
+			m.setScore(state.getPoints(m));
+		}
+		Collections.sort(result, HIGHEST_SCORE_FIRST);
+		return result;
+	}
+	
+	@Override
+	public void order(MoveList moves, BoardState state) {
+		moves.sortByScore();	//Packed moves already have their score
+	}
+}
@@ -1,15 +1,24 @@
 package solving;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import general.BoardState;
 import general.BoardState.Direction;
 import general.Move;
+import general.PackedMove;
 import gui.StateVisualizer;
+import utility.AnagramIndex;
 import utility.Dictionary;
+import utility.Gaddag;
 import utility.WordCondition;
+import utility.WordVisitor;
+import utility.WordsCache;
 
 /**
  * General class used to modularize different tactics of solving the same problem.  Each solver is given an initial board
@@ -17,6 +26,15 @@ import utility.WordCondition;
  */
 public abstract class Solver {
 	protected Dictionary dictionary;
+	protected Gaddag gaddag;
+	protected AnchorMoveGenerator anchorGenerator;
+	protected IncrementalMoveGenerator incrementalGenerator;
+	protected ParallelMoveGenerator parallelGenerator;
+	protected WordsCache cache;
+	protected AnagramIndex anagrams;
+	protected UpperBound bound = new RemainingLettersBound();
+	protected MoveOrdering ordering = new ScoreOrdering();
+	private final PackedMoveGenerator generator = new PackedMoveGenerator();
 	protected BoardState best, initial;
 	protected StateVisualizer visualizer;
 	
@@ -30,7 +48,7 @@ public abstract class Solver {
          */
 	public Solver(Dictionary dictionary, int[] startingLetters, boolean visual) {
 		this.dictionary = dictionary;
-		initial  = new BoardState(startingLetters);
+		initial  = new BoardState(startingLetters, dictionary);
 		best = new BoardState(initial);
 		if(visual) {
 			visualizer = new StateVisualizer();
@@ -48,31 +66,25 @@ public abstract class Solver {
 	 * Computes the initial moves possible on this board. By default any word in any
 	 * direction is a valid first move, since there are no words on the board.
 	 * 
-	 * @return A set of valid first moves from which the solving can start.
+	 * @return The valid first moves from which the solving can start, in the order they should be tried.
 	 */
-	protected Set<Move> computeInitialMoves() {
-		Collection<String> words = dictionary.giveMeWords(new HashSet<WordCondition>());
-		Collection<String> possibleWords = new HashSet<String>();
+	protected Collection<Move> computeInitialMoves() {
+		final Collection<String> possibleWords = new HashSet<String>();
 		Set<Move> result = new HashSet<Move>();
 		
-		int[] letters = new int[26];
-		
-		for (String word : words) {			
-			letters = initial.getRemainingLetters().clone();
-			
-			boolean flag = false;
-			char[] wordArry = word.toCharArray();
-			for (int i = 0 ; i < wordArry.length && !flag ; i++) {
-				int index = wordArry[i] - 'A';
-				if (letters[index] == 0) {
-					flag = true; // No more letters for this word, so it can't be a possible starting move
-				} else {
-					letters[index]--; // Gets rid of the used letter
-				}
-			}
-			if (!flag) {
-				possibleWords.add(word);
+		//Only walks through the words that can be formed with the starting letters
+		WordVisitor collector = new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				possibleWords.add(String.valueOf(word, 0, length));
+				return true;
 			}
+		};
+		if(anagrams != null) {
+			anagrams.giveMeWords(initial.getRemainingLetters(), collector);
+		}
+		else {
+			dictionary.giveMeWords(new HashSet<WordCondition>(), initial.getRemainingLetters(), collector);
 		}
 		
 		//No need to validate moves; the board is empty so any word goes.
@@ -82,7 +94,149 @@ public abstract class Solver {
 				result.add(m);
 			}
 		}
-		return result;
+		return order(result, initial);
+	}
+	
+	/**
+	 * Computes the possible moves from the specified board state, using the GADDAG if one was set or the dictionary
+	 * (through the cache, if one was set) otherwise.
+	 * 
+	 * @param b The board state to move from.
+	 * @return The valid moves from the specified board state, in the order they should be tried.
+	 */
+	protected Collection<Move> getPossibleMoves(BoardState b) {
+		return order(generateMoves(b), b);
+	}
+	
+	/**
+	 * Computes the possible moves from the specified board state like {@link #getPossibleMoves(BoardState)}, but
+	 * packed into the specified list (see {@link PackedMove}). Without a GADDAG no objects are created once the list
+	 * has grown enough.
+	 * 
+	 * @param b The board state to move from.
+	 * @param result The list to add the valid moves to, in the order they should be tried.
+	 */
+	protected void getPossibleMoves(BoardState b, MoveList result) {
+		if(parallelGenerator != null) {
+			parallelGenerator.generate(b, gaddag, anchorGenerator != null, result);
+		}
+		else if(anchorGenerator != null) {
+			anchorGenerator.generate(b, result);
+		}
+		else if(gaddag != null) {
+			for(Move m : Helper.getPossibleMoves(b, gaddag, dictionary)) {
+				result.add(PackedMove.pack(m, b.getPoints(m)));
+			}
+		}
+		else {
+			generator.generate(b, dictionary, cache, result);
+		}
+		if(ordering != null) {
+			ordering.order(result, b);
+		}
+	}
+	
+	/**
+	 * Computes the possible moves from the specified board state like {@link #getPossibleMoves(BoardState, MoveList)},
+	 * but from the moves of the previous board state when generating them incrementally (see
+	 * {@link #setIncrementalMoves(boolean)}).
+	 * 
+	 * @param b The board state to move from.
+	 * @param depth The amount of moves made to reach the board state. The moves of the previous board state must be
+	 * the last ones computed for {@code depth - 1}.
+	 * @param lastMove The packed move that led to the board state, or {@link PackedMove#NONE} to compute every move
+	 * again.
+	 * @param result The list to add the valid moves to, in the order they should be tried.
+	 */
+	protected void getPossibleMoves(BoardState b, int depth, long lastMove, MoveList result) {
+		if(incrementalGenerator == null) {
+			getPossibleMoves(b, result);
+			return;
+		}
+		if(lastMove == PackedMove.NONE) {
+			incrementalGenerator.generate(b, depth, result);
+		}
+		else {
+			incrementalGenerator.generate(b, depth, lastMove, result);
+		}
+		if(ordering != null) {
+			ordering.order(result, b);
+		}
+	}
+	
+	/**
+	 * Generates the valid moves from the specified board state, in no particular order.
+	 * 
+	 * @param b The board state to move from.
+	 * @return A set of valid moves from the specified board state.
+	 */
+	protected Set<Move> generateMoves(BoardState b) {
+		if(parallelGenerator != null) {
+			return parallelGenerator.getPossibleMoves(b, gaddag, anchorGenerator != null);
+		}
+		if(anchorGenerator != null) {
+			return anchorGenerator.getPossibleMoves(b);
+		}
+		if(gaddag != null) {
+			return Helper.getPossibleMoves(b, gaddag, dictionary);
+		}
+		return Helper.getPossibleMoves(b, dictionary, cache);
+	}
+	
+	/**
+	 * Iterates the valid moves from the specified board state in no particular order, generating them only as they're
+	 * iterated, so that callers that need a few moves don't generate the rest. With a parallel generator (see
+	 * {@link #setParallelMoves(int)}) they're all generated at once by its threads instead. The board state must not
+	 * change while iterating.
+	 * 
+	 * @param b The board state to move from.
+	 * @return An iterator of the valid moves from the specified board state.
+	 */
+	protected Iterator<Move> iterateMoves(BoardState b) {
+		return iterateMoves(b, null);
+	}
+	
+	/**
+	 * Iterates the valid moves from the specified board state like {@link #iterateMoves(BoardState)}, but in a random
+	 * order if a source of randomness is given: the parts of the board are generated in a random order and the moves
+	 * of each part are shuffled. Callers that take the first moves that suit them get moves from anywhere on the board.
+	 * 
+	 * @param b The board state to move from.
+	 * @param random The source of randomness, or {@code null} to iterate the moves in the order they're generated.
+	 * @return An iterator of the valid moves from the specified board state.
+	 */
+	protected Iterator<Move> iterateMoves(BoardState b, Random random) {
+		if(parallelGenerator != null) {
+			MoveList moves = new MoveList();	//The threads generate the whole board at once
+			parallelGenerator.generate(b, gaddag, anchorGenerator != null, moves);
+			if(random != null) {
+				moves.shuffle(random);
+			}
+			List<Move> result = new ArrayList<Move>(moves.size());
+			for(int i = 0; i < moves.size(); i++) {
+				result.add(PackedMove.toMove(moves.get(i)));
+			}
+			return result.iterator();
+		}
+		return new MoveIterator(b, dictionary, gaddag, anchorGenerator, generator, cache, random);
+	}
+	
+	/**
+	 * Sorts the specified moves with this solver's move ordering, if any.
+	 */
+	private Collection<Move> order(Set<Move> moves, BoardState b) {
+		return ordering == null ? moves : ordering.order(moves, b);
+	}
+	
+	/**
+	 * Evaluates if the specified board state can lead to a higher score than the best one found so far, according to
+	 * this solver's upper bound.
+	 * 
+	 * @param b The board state to evaluate.
+	 * @return {@code true} if the board state can improve the best score, or if there is no upper bound set.
+	 */
+	protected boolean canImprove(BoardState b) {
+		return bound == null || bound.upperBound(b) > best.getScore();
 	}
 	
 	/**
@@ -98,4 +252,109 @@ public abstract class Solver {
 	public Dictionary getDictionary() {
 		return dictionary;
 	}
+	
+	/**
+	 * Sets a GADDAG with the same words as this solver's dictionary, to generate moves only from the letters already
+	 * on the board.
+	 * 
+	 * @param gaddag The GADDAG to use, or {@code null} to generate moves with the dictionary.
+	 */
+	public void setGaddag(Gaddag gaddag) {
+		this.gaddag = gaddag;
+	}
+	
+	/**
+	 * Sets whether to generate moves only through the anchors of the board (see {@link AnchorMoveGenerator}), which
+	 * takes precedence over the GADDAG and the cache. Unlike the other ways, it also finds the moves that only touch
+	 * the letters on the board from the side.
+	 * 
+	 * @param anchors {@code true} to generate moves through the anchors.
+	 */
+	public void setAnchorMoves(boolean anchors) {
+		anchorGenerator = anchors ? new AnchorMoveGenerator(dictionary) : null;
+	}
+	
+	/**
+	 * Sets whether the solvers that search with packed moves generate the moves of each board state from the ones of
+	 * the previous board state, only generating again the rows and columns changed by the last move (see
+	 * {@link IncrementalMoveGenerator}). The moves are generated through anchors, as with
+	 * {@link #setAnchorMoves(boolean)}.
+	 * 
+	 * @param incremental {@code true} to generate moves incrementally.
+	 */
+	public void setIncrementalMoves(boolean incremental) {
+		incrementalGenerator = incremental ? new IncrementalMoveGenerator(dictionary) : null;
+	}
+	
+	/**
+	 * Sets whether to generate every move from a board state at once by splitting the rows and columns over a pool of
+	 * threads (see {@link ParallelMoveGenerator}), generating through the anchors or with the GADDAG as set. Iterated
+	 * moves are then generated all at once too, since the threads generate the whole board. Moves generated
+	 * incrementally are still generated in the solver's thread, and so is the cache, which can't be shared between
+	 * threads.
+	 * 
+	 * @param parallelism The amount of threads to generate with, or 0 to generate in the solver's thread. The threads of
+	 * the previous amount set are shut down.
+	 * @throws IllegalArgumentException If the amount of threads is negative.
+	 */
+	public void setParallelMoves(int parallelism) {
+		if(parallelism < 0) {
+			throw new IllegalArgumentException("Invalid amount of threads: " + parallelism);
+		}
+		setParallelMoves(parallelism > 0 ? new ParallelMoveGenerator(dictionary, parallelism) : null);
+	}
+	
+	/**
+	 * Sets the generator to generate every move from a board state at once, like {@link #setParallelMoves(int)}.
+	 * 
+	 * @param parallelGenerator The generator to use, with this solver's dictionary, or {@code null} to generate in the
+	 * solver's thread. The previous generator is closed (see {@link ParallelMoveGenerator#close()}).
+	 */
+	public void setParallelMoves(ParallelMoveGenerator parallelGenerator) {
+		if(this.parallelGenerator != null && this.parallelGenerator != parallelGenerator) {
+			this.parallelGenerator.close();
+		}
+		this.parallelGenerator = parallelGenerator;
+	}
+	
+	/**
+	 * Sets an index of the anagrams of this solver's words, to find the words for the first move, which only depend on
+	 * the starting letters.
+	 * 
+	 * @param anagrams The index to use, or {@code null} to query the dictionary.
+	 */
+	public void setAnagramIndex(AnagramIndex anagrams) {
+		this.anagrams = anagrams;
+	}
+	
+	/**
+	 * Sets a cache of this solver's dictionary, to look up the words for the conditions found on the board.
+	 * 
+	 * @param cache The cache to use, or {@code null} to query the dictionary directly.
+	 */
+	public void setCache(WordsCache cache) {
+		this.cache = cache;
+	}
+	
+	public WordsCache getCache() {
+		return cache;
+	}
+	
+	/**
+	 * Sets the upper bound used by the exact solvers to skip the board states that can't improve the best score.
+	 * 
+	 * @param bound The upper bound to use, or {@code null} to search every board state.
+	 */
+	public void setUpperBound(UpperBound bound) {
+		this.bound = bound;
+	}
+	
+	/**
+	 * Sets the order in which this solver tries the moves from each board state.
+	 * 
+	 * @param ordering The move ordering to use, or {@code null} to try the moves in any order.
+	 */
+	public void setMoveOrdering(MoveOrdering ordering) {
+		this.ordering = ordering;
+	}
 }
\ No newline at end of file
@@ -58,13 +58,23 @@ public class StochasticHillClimbingSolver extends TimedSolver {
             print("Best solution found");
             return false;
         }
-        Set<BoardState> neighbors = computeNeighbors(current);
-        if(neighbors.isEmpty()) {
+        //Neighbors are only generated until one is picked, in a random order so any of them can be the first
+        Iterator<Move> movements = iterateMoves(current, r);
+        if(!movements.hasNext()) {
             print("No more moves from here.");
             return true;
         }
-        BoardState backup = neighbors.iterator().next();	//In the rare case no probability works, go with the first
-        for(BoardState b : neighbors) {
+        Set<BoardState> neighbors = new HashSet<BoardState>();	//Different moves can lead to the same board
+        BoardState backup = null;	//In the rare case no probability works, go with the first
+        while(movements.hasNext()) {
+            BoardState b = new BoardState(current);
+            b.doMove(movements.next());
+            if(!neighbors.add(b)) {
+                continue;	//Already tried
+            }
+            if(backup == null) {
+                backup = b;
+            }
             double probability = 1/( 1+Math.exp( (current.getScore()-b.getScore()) )/T );
             if(r.nextDouble() <= probability) {
                 if(b.getScore() > best.getScore()) {
@@ -76,14 +86,4 @@ public class StochasticHillClimbingSolver extends TimedSolver {
         }
         return solve(backup);
     }
-    
-    private Set<BoardState> computeNeighbors(BoardState b) {
-        Set<BoardState> result = new HashSet<BoardState>();
-        for(Move movement: Helper.getPossibleMoves(b, this.getDictionary())){
-            BoardState clone = new BoardState(b);
-            clone.doMove(movement);
-            result.add(clone);
-        }
-        return result;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package solving;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size set of board fingerprints, used by the exact solvers to remember which states have been visited. A state
+ * is only stored once everything reachable from it is being searched, so reaching it again can't improve the best
+ * score and the solvers don't need anything else about it. The amount of entries is derived from a memory budget and
+ * never grows; when a bucket is full, the entry for the deepest state (the one with the cheapest subtree to search
+ * again) is replaced.
+ * <p>
+ * Each entry is a single <code>long</code>, with the high bits of the fingerprint and the depth of the state in the
+ * low byte (the low bits of the fingerprint pick the bucket). Entries are stored in a {@link LongBuffer}, which can be
+ * allocated off-heap so that large tables don't add to the garbage collector's work, or in an
+ * {@link AtomicLongArray} for tables shared between threads, which replace entries with compare-and-set instead of
+ * locking. Two threads adding the same state at once to a full bucket may both see it as new, which only means it's
+ * searched twice.
+ *
+ */
+public class TranspositionTable {
+	/**
+	 * Memory budget used when none is specified, in bytes.
+	 */
+	public static final long DEFAULT_BUDGET = 64L << 20;
+	/**
+	 * Largest memory budget a table can take, in bytes.
+	 */
+	public static final long MAX_BUDGET = 1L << 30;
+
+	private static final int ENTRY_SIZE = 8;	//A long for the fingerprint and the depth
+	private static final int BUCKET_SIZE = 2;
+	private static final int MAX_ENTRIES = (int) (MAX_BUDGET / ENTRY_SIZE);	//Largest power of two whose entries fit in a direct buffer
+	private static final long DEPTH_MASK = 0xFF;
+
+	private final LongBuffer entries;	//Null if the table is shared between threads
+	private final AtomicLongArray sharedEntries;	//Null otherwise
+	private final int mask;
+	private final AtomicInteger size = new AtomicInteger();
+
+	public TranspositionTable() {
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Creates an empty table on the heap taking at most the specified amount of memory.
+	 *
+	 * @param budget The amount of bytes the table can take.
+	 * @throw IllegalArgumentException If the budget isn't enough for a single bucket, or is over 1 GB.
+	 */
+	public TranspositionTable(long budget) {
+		this(budget, false);
+	}
+
+	/**
+	 * Creates an empty table taking at most the specified amount of memory.
+	 *
+	 * @param budget The amount of bytes the table can take.
+	 * @param offHeap Whether to store the entries outside of the Java heap.
+	 * @throw IllegalArgumentException If the budget isn't enough for a single bucket, or is over 1 GB.
+	 */
+	public TranspositionTable(long budget, boolean offHeap) {
+		this(budget, offHeap, false);
+	}
+
+	/**
+	 * Creates an empty table taking at most the specified amount of memory, which can be shared between threads if
+	 * specified. Shared tables are always on the heap.
+	 *
+	 * @param budget The amount of bytes the table can take.
+	 * @param offHeap Whether to store the entries outside of the Java heap.
+	 * @param concurrent Whether the table will be used by several threads at once.
+	 * @throw IllegalArgumentException If the budget isn't enough for a single bucket, or is over 1 GB, or the table
+	 * is both off-heap and concurrent.
+	 */
+	public TranspositionTable(long budget, boolean offHeap, boolean concurrent) {
+		if (offHeap && concurrent) {
+			throw new IllegalArgumentException("A transposition table shared between threads can't be off-heap");
+		}
+		long count = budget / ENTRY_SIZE;
+		if (count < BUCKET_SIZE || count > MAX_ENTRIES) {
+			throw new IllegalArgumentException("Invalid memory budget for a transposition table: " + budget);
+		}
+		int capacity = Integer.highestOneBit((int) count);
+		if (concurrent) {
+			entries = null;
+			sharedEntries = new AtomicLongArray(capacity);
+		}
+		else if (offHeap) {
+			sharedEntries = null;
+			entries = ByteBuffer.allocateDirect(capacity * ENTRY_SIZE).order(ByteOrder.nativeOrder()).asLongBuffer();
+		}
+		else {
+			sharedEntries = null;
+			entries = LongBuffer.allocate(capacity);
+		}
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Evaluates if the specified state is stored.
+	 *
+	 * @param fingerprint The hash of the state, as given by {@link general.BoardState#getZobristHash()}.
+	 * @return <code>true</code> if the state was stored and hasn't been replaced.
+	 */
+	public boolean contains(long fingerprint) {
+		long key = key(fingerprint);
+		int bucket = bucket(fingerprint);
+		for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+			if ((entry(i) & ~DEPTH_MASK) == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stores the specified state, replacing the deepest state of its bucket if it's full. It's atomic in tables shared
+	 * between threads, so only one of the threads adding a state finds it new, unless its bucket is full.
+	 *
+	 * @param fingerprint The hash of the state, as given by {@link general.BoardState#getZobristHash()}.
+	 * @param depth The amount of moves made to reach the state.
+	 * @return <code>true</code> if the state wasn't already stored.
+	 */
+	public boolean add(long fingerprint, int depth) {
+		long key = key(fingerprint), value = key | Math.min(depth, DEPTH_MASK);
+		int bucket = bucket(fingerprint);
+		while (true) {
+			int slot = bucket;
+			long replaced = entry(slot);
+			for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+				long current = entry(i);
+				if ((current & ~DEPTH_MASK) == key) {
+					return false;
+				}
+				if (current == 0) {
+					slot = i;
+					replaced = current;
+					break;
+				}
+				if ((current & DEPTH_MASK) > (replaced & DEPTH_MASK)) {
+					slot = i;
+					replaced = current;
+				}
+			}
+			if (replace(slot, replaced, value)) {
+				if (replaced == 0) {
+					size.incrementAndGet();
+				}
+				return true;
+			}
+			//Another thread changed the slot, look at the bucket again
+		}
+	}
+
+	/**
+	 * Removes every entry from the table.
+	 */
+	public void clear() {
+		for (int i = 0; i <= mask; i++) {
+			if (sharedEntries != null) {
+				sharedEntries.set(i, 0);
+			}
+			else {
+				entries.put(i, 0);
+			}
+		}
+		size.set(0);
+	}
+
+	/**
+	 * @return The amount of states stored.
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * @return The maximum amount of states that can be stored.
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	private long entry(int slot) {
+		return sharedEntries != null ? sharedEntries.get(slot) : entries.get(slot);
+	}
+
+	/**
+	 * Writes the specified value in a slot if it still holds the expected one, which is always the case for tables
+	 * that aren't shared.
+	 */
+	private boolean replace(int slot, long expected, long value) {
+		if (sharedEntries != null) {
+			return sharedEntries.compareAndSet(slot, expected, value);
+		}
+		entries.put(slot, value);
+		return true;
+	}
+
+	/**
+	 * Maps a fingerprint to the part of an entry that identifies it, avoiding 0, which marks free slots.
+	 */
+	private static long key(long fingerprint) {
+		long key = fingerprint & ~DEPTH_MASK;
+		return key == 0 ? DEPTH_MASK + 1 : key;
+	}
+
+	/**
+	 * Returns the first slot of the bucket for the specified fingerprint. Zobrist hashes are already uniform, so the
+	 * low bits are used directly.
+	 */
+	private int bucket(long fingerprint) {
+		return (int) fingerprint & mask & -BUCKET_SIZE;
+	}
+}
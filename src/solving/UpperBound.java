@@ -0,0 +1,19 @@
+package solving;
+
+import general.BoardState;
+
+/**
+ * Estimates the highest score that can be reached from a board state, so that the exact solvers can skip the states
+ * that can't improve on the best solution found. Estimates must never be lower than the real maximum, or optimal
+ * solutions may be skipped.
+ */
+public interface UpperBound {
+
+	/**
+	 * Returns a score that no board state reachable from the specified one can exceed.
+	 * 
+	 * @param state The board state to estimate.
+	 * @return The highest score that can be reached from the board state, or an overestimation of it.
+	 */
+	public int upperBound(BoardState state);
+}
@@ -0,0 +1,85 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.Move;
+import solving.Solver;
+import utility.AnagramIndex;
+import utility.Dictionary;
+
+public class AnagramIndexTester {
+	
+	private static AnagramIndex index;
+	
+	@BeforeClass
+	public static void setUp() {
+		index = new AnagramIndex(Arrays.asList("Amor", "Roma", "Ramo", "Mora", "Oro", "Ola", "Hola", "Sol"));
+	}
+	
+	@Test
+	public void anagramsTest() {
+		assertEquals(new HashSet<String>(Arrays.asList("AMOR", "ROMA", "RAMO", "MORA")), index.anagrams("Omar"));
+		assertTrue(index.anagrams("Sal").isEmpty());
+	}
+	
+	@Test
+	public void subAnagramsTest() {
+		int[] letters = new int[26];
+		letters['A' - 'A'] = 1;
+		letters['M' - 'A'] = 1;
+		letters['O' - 'A'] = 1;
+		letters['R' - 'A'] = 1;
+		letters['L' - 'A'] = 1;
+		
+		Set<String> result = index.giveMeWords(letters);
+		assertEquals(new HashSet<String>(Arrays.asList("AMOR", "ROMA", "RAMO", "MORA", "OLA")), result);
+		assertEquals(1, letters['O' - 'A']);
+	}
+	
+	/**
+	 * Exposes the first moves of a solver.
+	 */
+	private static class FirstMovesSolver extends Solver {
+		FirstMovesSolver(Dictionary dictionary, int[] letters) {
+			super(dictionary, letters, false);
+		}
+		
+		@Override
+		public BoardState solve() {
+			return best;
+		}
+		
+		Set<Move> firstMoves() {
+			return new HashSet<Move>(computeInitialMoves());
+		}
+	}
+	
+	@Test
+	public void firstMovesTest() {
+		List<String> words = Arrays.asList("Amor", "Roma", "Ramo", "Mora", "Oro", "Ola", "Hola", "Sol");
+		Dictionary.Builder builder = new Dictionary.Builder();
+		for (String word : words) {
+			builder.addWord(word);
+		}
+		Dictionary dictionary = builder.build();
+		int[] letters = new int[26];
+		for (char c : "AMORLS".toCharArray()) {
+			letters[c - 'A']++;
+		}
+		FirstMovesSolver solver = new FirstMovesSolver(dictionary, letters);
+		Set<Move> expected = solver.firstMoves();
+		solver.setAnagramIndex(new AnagramIndex(words));
+		assertEquals(expected, solver.firstMoves());
+		assertTrue(expected.contains(new Move("SOL", 5, 7, BoardState.Direction.RIGHT)));
+	}
+}
@@ -0,0 +1,84 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+import general.Validator;
+import solving.AnchorMoveGenerator;
+import solving.Helper;
+import solving.MoveList;
+import utility.Dictionary;
+
+public class AnchorMoveGeneratorTester {
+	private static Dictionary dictionary;
+	
+	@BeforeClass
+	public static void createDictionary() {
+		dictionary = Fixtures.dictionary();
+	}
+	
+	private static BoardState board() {
+		return Fixtures.board(dictionary, Fixtures.center());
+	}
+	
+	@Test
+	public void validMovesTest() {
+		BoardState b = board();
+		Set<Move> moves = new AnchorMoveGenerator(dictionary).getPossibleMoves(b);
+		assertFalse(moves.isEmpty());
+		for (Move m : moves) {
+			assertTrue(m.toString(), Validator.isValidMovement(m, b, dictionary));
+		}
+		assertTrue(moves.contains(new Move("CASAS", 7, 7, Direction.RIGHT)));	//Extends the word on the board
+		assertTrue(moves.contains(new Move("ES", 9, 8, Direction.RIGHT)));	//Only touches it from the side
+		assertFalse(moves.contains(new Move("S", 11, 7, Direction.RIGHT)));	//Only whole runs of letters
+	}
+	
+	@Test
+	public void sameAsHelperTest() {
+		BoardState b = board();
+		Set<String> expected = new HashSet<String>(), found = new HashSet<String>();
+		for (Move m : Helper.getPossibleMoves(b, dictionary)) {
+			BoardState after = new BoardState(b);
+			after.doMove(m);
+			expected.add(after.toString());
+		}
+		for (Move m : new AnchorMoveGenerator(dictionary).getPossibleMoves(b)) {
+			BoardState after = new BoardState(b);
+			after.doMove(m);
+			found.add(after.toString());
+		}
+		assertTrue(found.containsAll(expected));	//Every placement found by trying each square is found
+	}
+	
+	@Test
+	public void packedTest() {
+		BoardState b = board();
+		AnchorMoveGenerator generator = new AnchorMoveGenerator(dictionary);
+		MoveList list = new MoveList();
+		generator.generate(b, list);
+		Set<Move> moves = generator.getPossibleMoves(b);
+		assertEquals(moves.size(), list.size());
+		for (int i = 0; i < list.size(); i++) {
+			Move m = PackedMove.toMove(list.get(i));
+			assertTrue(moves.contains(m));
+			assertEquals(b.getPoints(m), PackedMove.getScore(list.get(i)));
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void noCrossChecksTest() {
+		new AnchorMoveGenerator(dictionary).getPossibleMoves(new BoardState(new int[26]));
+	}
+}
@@ -0,0 +1,51 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Bitboard;
+import general.Move;
+
+public class BitboardTester {
+	
+	@Test
+	public void lineTest() {
+		Bitboard b = new Bitboard();
+		b.set(4 * BoardState.SIZE + 3);
+		b.set(4 * BoardState.SIZE + 14);
+		b.set(5 * BoardState.SIZE);
+		assertEquals((1 << 3) | (1 << 14), b.getLine(4));
+		assertEquals(1, b.getLine(5));
+		assertEquals(0, b.getLine(3));
+	}
+	
+	@Test
+	public void neighborsTest() {
+		Bitboard b = new Bitboard();
+		b.set(BoardState.SIZE - 1);		//Last slot of the first line
+		Bitboard neighbors = b.neighbors();
+		assertEquals(2, neighbors.cardinality());
+		assertTrue(neighbors.get(BoardState.SIZE - 2) && neighbors.get(2 * BoardState.SIZE - 1));
+		assertFalse(neighbors.get(BoardState.SIZE));	//First slot of the next line isn't next to it
+		assertEquals(BoardState.SIZE - 2, neighbors.nextSlot(0));
+	}
+	
+	@Test
+	public void boardStateTest() {
+		BoardState board = new BoardState(new int[26]);
+		Move move = new Move("HOLA", 7, 7, Direction.RIGHT);
+		board.doMove(move);
+		assertEquals(0b1111 << 7, board.getRowOccupancy(7));
+		assertEquals(1 << 7, board.getColumnOccupancy(9));
+		assertEquals(4 * 2 + 2, board.getAnchors().cardinality());
+		assertTrue(board.hasAdjacentLetters(8, 6));
+		board.undoMove(move);
+		assertTrue(board.getAnchors().isEmpty());
+		assertFalse(board.isOccupied(7, 7));
+	}
+}
@@ -0,0 +1,85 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.Validator;
+import utility.Dictionary;
+
+public class CrossCheckTester {
+	private static Dictionary dictionary;
+	
+	@BeforeClass
+	public static void createDictionary() {
+		Dictionary.Builder builder = new Dictionary.Builder();
+		for (String word : new String[] {"CASA", "AS", "ES", "SE", "OSA", "ASO"}) {
+			builder.addWord(word);
+		}
+		dictionary = builder.build();
+	}
+	
+	private static int mask(String letters) {
+		int result = 0;
+		for (char c : letters.toCharArray()) {
+			result |= 1 << (c - 'A');
+		}
+		return result;
+	}
+	
+	@Test
+	public void crossCheckTest() {
+		BoardState b = new BoardState(Fixtures.letters("CASAEO"), dictionary);
+		assertEquals(BoardState.ALL_LETTERS, b.getCrossCheck(7, 6, Direction.RIGHT));
+		b.doMove(new Move("CASA", 7, 7, Direction.RIGHT));
+		assertEquals(mask("AE"), b.getCrossCheck(9, 6, Direction.RIGHT));	//AS, ES
+		assertEquals(mask("E"), b.getCrossCheck(9, 8, Direction.RIGHT));	//SE
+		assertEquals(0, b.getCrossCheck(6, 7, Direction.DOWN));	//Nothing goes before CASA
+		assertEquals(0, b.getCrossCheck(11, 7, Direction.DOWN));
+		assertEquals(BoardState.ALL_LETTERS, b.getCrossCheck(9, 5, Direction.RIGHT));
+	}
+	
+	@Test
+	public void undoTest() {
+		BoardState b = new BoardState(Fixtures.letters("CASASE"), dictionary);
+		b.doMove(new Move("CASA", 7, 7, Direction.RIGHT));
+		BoardState before = new BoardState(b);
+		Move m = new Move("SE", 9, 7, Direction.DOWN);
+		b.doMove(m);
+		assertEquals(mask("S"), b.getCrossCheck(10, 8, Direction.DOWN));	//Right of the E, ES
+		b.undoMove(m);
+		for (int y = 0; y < BoardState.SIZE; y++) {
+			for (int x = 0; x < BoardState.SIZE; x++) {
+				if (!b.isOccupied(x, y)) {
+					assertEquals(before.getCrossCheck(x, y, Direction.RIGHT), b.getCrossCheck(x, y, Direction.RIGHT));
+					assertEquals(before.getCrossCheck(x, y, Direction.DOWN), b.getCrossCheck(x, y, Direction.DOWN));
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void validationTest() {
+		BoardState b = new BoardState(Fixtures.letters("CASAOSE"), dictionary),
+				plain = new BoardState(Fixtures.letters("CASAOSE"));
+		b.doMove(new Move("CASA", 7, 7, Direction.RIGHT));
+		plain.doMove(new Move("CASA", 7, 7, Direction.RIGHT));
+		Move parallel = new Move("ES", 9, 8, Direction.RIGHT),	//Forms SE and AS
+				invalid = new Move("OSA", 8, 8, Direction.RIGHT);	//Forms AO
+		assertTrue(Validator.isValidMovement(parallel, b, dictionary));
+		assertTrue(Validator.isValidMovement(parallel, plain, dictionary));
+		assertFalse(Validator.isValidMovement(invalid, b, dictionary));
+		assertFalse(Validator.isValidMovement(invalid, plain, dictionary));
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void noDictionaryTest() {
+		new BoardState(Fixtures.letters("CASA")).getCrossCheck(0, 0, Direction.RIGHT);
+	}
+}
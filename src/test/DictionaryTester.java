@@ -3,6 +3,9 @@ package test;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -11,7 +14,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import utility.Dictionary;
+import utility.PackedWord;
 import utility.WordCondition;
+import utility.WordVisitor;
 
 public class DictionaryTester {
 	
@@ -20,16 +25,17 @@ public class DictionaryTester {
 	@BeforeClass
 	public static void setUp() {
 		
-		dictionary = new Dictionary();
-		dictionary.addWord("Hola");
-		dictionary.addWord("Hora");
-		dictionary.addWord("Horas");
-		dictionary.addWord("Horario");
-		dictionary.addWord("Helado");
-		dictionary.addWord("Arbol");
-		dictionary.addWord("Avion");
-		dictionary.addWord("Aviones");
-		dictionary.addWord("Hoy");
+		Dictionary.Builder builder = new Dictionary.Builder();
+		builder.addWord("Hola");
+		builder.addWord("Hora");
+		builder.addWord("Horas");
+		builder.addWord("Horario");
+		builder.addWord("Helado");
+		builder.addWord("Arbol");
+		builder.addWord("Avion");
+		builder.addWord("Aviones");
+		builder.addWord("Hoy");
+		dictionary = builder.build();
 		
 		
 	}
@@ -48,6 +54,26 @@ public class DictionaryTester {
 	public void thirdHasWordTest() {
 		assertFalse(dictionary.hasWord("Arboles"));
 	}
+	
+	@Test
+	public void prefixHasWordTest() {
+		assertFalse(dictionary.hasWord("Hor"));
+		assertFalse(dictionary.hasWord("Ho la"));
+		assertFalse(dictionary.isEmpty());
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void addWordAfterBuildTest() {
+		Dictionary.Builder builder = new Dictionary.Builder().addWord("Hola");
+		Dictionary built = builder.build();
+		assertTrue(built.hasWord("Hola"));
+		builder.addWord("Hora");
+	}
+	
+	@Test
+	public void emptyTest() {
+		assertTrue(new Dictionary.Builder().build().isEmpty());
+	}
 
 	
 	@Test
@@ -67,4 +93,118 @@ public class DictionaryTester {
 	
 	
 
+	@Test
+	public void visitorGiveMeWordsTest() {
+		
+		Set<WordCondition> set = new HashSet<WordCondition>();
+		set.add(new WordCondition(0, 'H'));
+		set.add(new WordCondition(3, 'A'));
+		
+		final Set<String> visited = new HashSet<String>();
+		assertTrue(dictionary.giveMeWords(set, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				visited.add(String.valueOf(word, 0, length));
+				return true;
+			}
+		}));
+		Assert.assertEquals(dictionary.giveMeWords(set), visited);
+		
+		visited.clear();
+		assertFalse(dictionary.giveMeWords(set, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				visited.add(String.valueOf(word, 0, length));
+				return false;
+			}
+		}));
+		Assert.assertEquals(1, visited.size());
+	}
+	
+	@Test
+	public void lettersGiveMeWordsTest() {
+		
+		Set<WordCondition> set = new HashSet<WordCondition>();
+		set.add(new WordCondition(0, 'H'));
+		
+		int[] letters = new int[26];
+		letters['O' - 'A'] = 1;
+		letters['R' - 'A'] = 1;
+		letters['A' - 'A'] = 1;
+		letters['Y' - 'A'] = 1;
+		
+		final Set<String> visited = new HashSet<String>();
+		dictionary.giveMeWords(set, letters, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				visited.add(String.valueOf(word, 0, length));
+				return true;
+			}
+		});
+		Assert.assertTrue(visited.contains("HORA") && visited.contains("HOY") && !visited.contains("HOLA")
+				&& !visited.contains("HORAS") && !visited.contains("HORARIO"));
+		Assert.assertEquals(1, letters['O' - 'A']);
+	}
+	
+	@Test
+	public void saveAndLoadTest() throws IOException {
+		
+		File file = File.createTempFile("dictionary", ".dawg");
+		try {
+			dictionary.save(file.getPath());
+			Dictionary loaded = Dictionary.load(file.getPath());
+			assertTrue(loaded.hasWord("Horario") && loaded.hasWord("Hoy"));
+			assertFalse(loaded.hasWord("Hor") || loaded.hasWord("Arboles"));
+			
+			Set<WordCondition> set = new HashSet<WordCondition>();
+			set.add(new WordCondition(1, 'O'));
+			Assert.assertEquals(dictionary.giveMeWords(set), loaded.giveMeWords(set));
+		}
+		finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void packedHasWordTest() {
+		assertTrue(dictionary.hasWord(PackedWord.pack("Horario")));
+		assertTrue(dictionary.hasWord(PackedWord.pack("HOY")));
+		assertFalse(dictionary.hasWord(PackedWord.pack("Hor")));
+		assertFalse(dictionary.hasWord(PackedWord.pack("Ho la")));
+		assertFalse(dictionary.hasWord(PackedWord.pack("Horarios")));
+		assertFalse(dictionary.hasWord(PackedWord.EMPTY));
+		Assert.assertEquals('R', PackedWord.letter(PackedWord.pack("Horario"), 2));
+		Assert.assertEquals("HORARIO", PackedWord.unpack(PackedWord.pack("Horario")));
+		Assert.assertEquals(PackedWord.INVALID, PackedWord.append(PackedWord.pack("Horario"), 'S'));
+	}
+	
+	@Test
+	public void boundsTest() {
+		Assert.assertEquals(4, dictionary.maxPoints("Hor"));
+		Assert.assertEquals(-1, dictionary.maxPoints("Hx"));
+		Assert.assertEquals((1 << 3) | (1 << 4) | (1 << 5) | (1 << 7), dictionary.wordLengths("Ho"));
+		Assert.assertEquals(0, dictionary.wordLengths("Hx"));
+	}
+	
+	@Test
+	public void maskGiveMeWordsTest() {
+		
+		char[] conditions = new char[7];
+		conditions[0] = 'H';
+		conditions[3] = 'A';
+		conditions[4] = 'D';
+		int positions = (1 << 0) | (1 << 3) | (1 << 4);
+		
+		final Set<String> visited = new HashSet<String>();
+		dictionary.giveMeWords(positions, conditions, null, 7, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				visited.add(String.valueOf(word, 0, length));
+				return true;
+			}
+		});
+		Assert.assertEquals(new HashSet<String>(Arrays.asList("HOLA", "HORA", "HELADO", "HOY")), visited);
+		Assert.assertTrue(conditions[0] == 'H' && conditions[3] == 'A' && conditions[4] == 'D');
+	}
+	
 }
@@ -0,0 +1,105 @@
+package test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import solving.MoveList;
+import utility.Dictionary;
+
+/**
+ * Dictionary, racks and boards shared by the move generation testers.
+ */
+final class Fixtures {
+	static final String[] WORDS = {"CASA", "CASAS", "AS", "ES", "SE", "OSA", "ASO", "SACO", "COSA"};
+	/**
+	 * The letters left after playing any of the boards.
+	 */
+	static final String RACK = "OSEC";
+
+	private Fixtures() {
+	}
+
+	static Dictionary dictionary() {
+		Dictionary.Builder builder = new Dictionary.Builder();
+		for (String word : WORDS) {
+			builder.addWord(word);
+		}
+		return builder.build();
+	}
+
+	static int[] letters(String rack) {
+		int[] letters = new int[26];
+		for (char c : rack.toCharArray()) {
+			letters[c - 'A']++;
+		}
+		return letters;
+	}
+
+	/**
+	 * CASA across the center of the board.
+	 */
+	static Move[] center() {
+		return new Move[] {new Move("CASA", 7, 7, Direction.RIGHT)};
+	}
+
+	/**
+	 * CASA across the center of the board and COSA down from its C, so moves change crossing lines.
+	 */
+	static Move[] crossed() {
+		return new Move[] {new Move("CASA", 7, 7, Direction.RIGHT), new Move("COSA", 7, 7, Direction.DOWN)};
+	}
+
+	/**
+	 * A word along each edge of the board, touching every corner but the bottom right one.
+	 */
+	static Move[] edges() {
+		return new Move[] {new Move("CASA", 0, 0, Direction.RIGHT), new Move("COSA", 14, 0, Direction.DOWN),
+				new Move("CASAS", 10, 14, Direction.RIGHT), new Move("SACO", 0, 11, Direction.DOWN)};
+	}
+
+	/**
+	 * Returns the letters of the specified moves followed by {@link #RACK}.
+	 */
+	static String rack(Move... moves) {
+		StringBuilder result = new StringBuilder();
+		Set<String> placed = new HashSet<String>();
+		for (Move m : moves) {
+			int x = m.getX(), y = m.getY();
+			for (char c : m.getWord().toCharArray()) {
+				if (placed.add(x + "," + y)) {
+					result.append(c);
+				}
+				if (m.getDirection() == Direction.RIGHT) {
+					x++;
+				}
+				else {
+					y++;
+				}
+			}
+		}
+		return result.append(RACK).toString();
+	}
+
+	/**
+	 * Plays the specified moves on a new board that keeps cross-checks for the specified dictionary, starting with
+	 * just enough letters to play them and {@link #RACK} left.
+	 */
+	static BoardState board(Dictionary dictionary, Move... moves) {
+		BoardState b = new BoardState(letters(rack(moves)), dictionary);
+		for (Move m : moves) {
+			b.doMove(m);
+		}
+		return b;
+	}
+
+	static Set<Long> moves(MoveList list) {
+		Set<Long> result = new HashSet<Long>();
+		for (int i = 0; i < list.size(); i++) {
+			result.add(list.get(i));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,100 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import utility.Gaddag;
+import utility.LineVisitor;
+
+public class GaddagTester {
+	
+	private static Gaddag gaddag;
+	
+	@BeforeClass
+	public static void setUp() {
+		gaddag = new Gaddag(Arrays.asList("Hola", "Hora", "Horas", "Ola", "Arbol", "Sol"));
+	}
+	
+	@Test
+	public void anchorInTheMiddleTest() {
+		char[] line = "     O    ".toCharArray();
+		Map<Integer, Set<String>> result = gaddag.giveMeWords(line, 5);
+		assertTrue(result.get(4).contains("HOLA") && result.get(4).contains("HORA") && result.get(4).contains("SOL"));
+		assertTrue(result.get(5).contains("OLA"));
+		assertTrue(result.get(2).contains("ARBOL"));
+	}
+	
+	@Test
+	public void occupiedSquaresTest() {
+		char[] line = "  H  A    ".toCharArray();
+		Map<Integer, Set<String>> result = gaddag.giveMeWords(line, 2);
+		assertEquals(1, result.size());
+		assertTrue(result.get(2).contains("HOLA") && result.get(2).contains("HORA") && result.get(2).contains("HORAS"));
+	}
+	
+	@Test
+	public void lineBoundsTest() {
+		char[] line = "O   ".toCharArray();
+		Map<Integer, Set<String>> result = gaddag.giveMeWords(line, 0);
+		assertEquals(1, result.size());
+		assertTrue(result.get(0).contains("OLA"));
+	}
+	
+	private static Set<String> query(char[] line, int anchor, String rack, int[] crossChecks) {
+		int[] letters = new int[26];
+		for (char c : rack.toCharArray()) {
+			letters[c - 'A']++;
+		}
+		final Set<String> result = new HashSet<String>();
+		String before = String.valueOf(line);
+		gaddag.giveMeWords(line, anchor, letters, crossChecks, new LineVisitor() {
+			@Override
+			public boolean visit(char[] line, int start, int length) {
+				result.add(start + ":" + String.valueOf(line, start, length));
+				return true;
+			}
+		});
+		assertEquals(before, String.valueOf(line));	//Restored once the search ends
+		return result;
+	}
+	
+	@Test
+	public void rackTest() {
+		char[] line = "     O    ".toCharArray();
+		assertEquals(new HashSet<String>(Arrays.asList("4:SOL", "5:OLA")), query(line, 5, "SLA", null));
+		assertTrue(query(line, 5, "", null).isEmpty());
+	}
+	
+	@Test
+	public void crossChecksTest() {
+		char[] line = "     O    ".toCharArray();
+		int[] crossChecks = new int[line.length];
+		Arrays.fill(crossChecks, (1 << 26) - 1);
+		crossChecks[4] = 1 << ('H' - 'A');	//Only an H before the O
+		assertEquals(new HashSet<String>(Arrays.asList("4:HOLA", "4:HORA", "4:HORAS", "5:OLA")),
+				query(line, 5, "HSLAR", crossChecks));
+	}
+	
+	@Test
+	public void stopTest() {
+		char[] line = "     O    ".toCharArray();
+		final int[] visited = new int[1];
+		assertEquals(false, gaddag.giveMeWords(line, 5, null, null, new LineVisitor() {
+			@Override
+			public boolean visit(char[] line, int start, int length) {
+				visited[0]++;
+				return false;
+			}
+		}));
+		assertEquals(1, visited[0]);
+		assertEquals("     O    ", String.valueOf(line));
+	}
+}
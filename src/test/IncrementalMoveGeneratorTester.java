@@ -0,0 +1,99 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+import solving.AnchorMoveGenerator;
+import solving.IncrementalMoveGenerator;
+import solving.MoveList;
+import utility.Dictionary;
+
+public class IncrementalMoveGeneratorTester {
+	private static Dictionary dictionary;
+
+	@BeforeClass
+	public static void createDictionary() {
+		dictionary = Fixtures.dictionary();
+	}
+
+	private static BoardState board() {
+		return Fixtures.board(dictionary, Fixtures.center());
+	}
+
+	/**
+	 * Plays every move from the board, checking that the moves generated from
+	 * the board's are the same as generating every move again.
+	 */
+	@Test
+	public void sameAsFullTest() {
+		BoardState b = board();
+		AnchorMoveGenerator full = new AnchorMoveGenerator(dictionary);
+		IncrementalMoveGenerator generator = new IncrementalMoveGenerator(dictionary);
+		MoveList first = new MoveList(), expected = new MoveList(), found = new MoveList();
+		generator.generate(b, 1, first);
+		full.generate(b, expected);
+		assertEquals(Fixtures.moves(expected), Fixtures.moves(first));
+		assertFalse(first.isEmpty());
+		for (int i = 0; i < first.size(); i++) {	//Siblings are generated from the same parent
+			long move = first.get(i);
+			int added = b.doMove(move);
+			expected.clear();
+			found.clear();
+			full.generate(b, expected);
+			generator.generate(b, 2, move, found);
+			assertEquals(PackedMove.toMove(move).toString(), Fixtures.moves(expected), Fixtures.moves(found));
+			assertEquals(found.size(), Fixtures.moves(found).size());	//No move is repeated
+			b.undoMove(move, added);
+		}
+	}
+
+	/**
+	 * Plays two levels of moves from a board with crossing words, where most
+	 * moves change a row and the columns crossing it, or the other way around,
+	 * and the lines kept from the parent were themselves kept from its parent.
+	 */
+	@Test
+	public void crossingLinesTest() {
+		BoardState b = Fixtures.board(dictionary, Fixtures.crossed());
+		AnchorMoveGenerator full = new AnchorMoveGenerator(dictionary);
+		IncrementalMoveGenerator generator = new IncrementalMoveGenerator(dictionary);
+		MoveList first = new MoveList(), expected = new MoveList();
+		generator.generate(b, 1, first);
+		int checked = 0;
+		for (int i = 0; i < first.size(); i++) {
+			long move = first.get(i);
+			int added = b.doMove(move);
+			MoveList second = new MoveList();
+			generator.generate(b, 2, move, second);
+			for (int j = 0; j < second.size(); j++) {
+				long next = second.get(j);
+				int nextAdded = b.doMove(next);
+				MoveList found = new MoveList();
+				expected.clear();
+				full.generate(b, expected);
+				generator.generate(b, 3, next, found);
+				assertEquals(PackedMove.toMove(move) + " " + PackedMove.toMove(next), Fixtures.moves(expected),
+						Fixtures.moves(found));
+				b.undoMove(next, nextAdded);
+				checked++;
+			}
+			b.undoMove(move, added);
+		}
+		assertFalse(checked == 0);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void noPreviousMovesTest() {
+		BoardState b = board();
+		long move = PackedMove.pack(new Move("CASAS", 7, 7, Direction.RIGHT), 1);
+		b.doMove(move);
+		new IncrementalMoveGenerator(dictionary).generate(b, 2, move, new MoveList());
+	}
+}
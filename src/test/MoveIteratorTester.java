@@ -0,0 +1,183 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import solving.Solver;
+import utility.Dictionary;
+import utility.Gaddag;
+
+public class MoveIteratorTester {
+	private static Dictionary dictionary;
+	private static Gaddag gaddag;
+
+	@BeforeClass
+	public static void createDictionary() {
+		dictionary = Fixtures.dictionary();
+		gaddag = new Gaddag(dictionary);
+	}
+
+	/**
+	 * Exposes the moves of a solver.
+	 */
+	private static class MovesSolver extends Solver {
+		MovesSolver(String rack, Move... moves) {
+			super(MoveIteratorTester.dictionary, Fixtures.letters(rack), false);
+			for (Move m : moves) {
+				initial.doMove(m);
+			}
+		}
+
+		MovesSolver(Move... moves) {
+			this(Fixtures.rack(moves), moves);
+		}
+
+		@Override
+		public BoardState solve() {
+			return initial;
+		}
+
+		Set<Move> iterated() {
+			return iterated(null);
+		}
+
+		Set<Move> iterated(Random random) {
+			Set<Move> result = new HashSet<Move>();
+			for (Iterator<Move> it = iterateMoves(initial, random); it.hasNext();) {
+				assertEquals(true, result.add(it.next()));	//No move is repeated
+			}
+			return result;
+		}
+
+		Set<Move> generated() {
+			return generateMoves(initial);
+		}
+
+		Iterator<Move> iterator() {
+			return iterateMoves(initial);
+		}
+
+		Move first(Random random) {
+			return iterateMoves(initial, random).next();
+		}
+	}
+
+	@Test
+	public void dictionaryTest() {
+		MovesSolver solver = new MovesSolver(Fixtures.center());
+		assertFalse(solver.generated().isEmpty());
+		assertEquals(solver.generated(), solver.iterated());
+	}
+
+	@Test
+	public void gaddagTest() {
+		MovesSolver solver = new MovesSolver(Fixtures.center());
+		solver.setGaddag(gaddag);
+		assertEquals(solver.generated(), solver.iterated());
+	}
+
+	@Test
+	public void anchorsTest() {
+		MovesSolver solver = new MovesSolver(Fixtures.center());
+		solver.setAnchorMoves(true);
+		assertEquals(solver.generated(), solver.iterated());
+	}
+
+	/**
+	 * Checks that iterating in a random order finds the same moves, and that
+	 * the first move isn't always the same one.
+	 */
+	private static void checkRandomOrder(MovesSolver solver) {
+		Set<Move> expected = solver.generated(), first = new HashSet<Move>();
+		for (int seed = 0; seed < 20; seed++) {
+			assertEquals(expected, solver.iterated(new Random(seed)));
+			first.add(solver.first(new Random(seed)));
+		}
+		assertTrue(first.size() > 1);
+	}
+
+	@Test
+	public void randomOrderTest() {
+		checkRandomOrder(new MovesSolver(Fixtures.center()));
+		MovesSolver solver = new MovesSolver(Fixtures.center());
+		solver.setGaddag(gaddag);
+		checkRandomOrder(solver);
+		solver = new MovesSolver(Fixtures.center());
+		solver.setAnchorMoves(true);
+		checkRandomOrder(solver);
+	}
+
+	/**
+	 * Exhausts the solver's iterator, checking that it finds the generated
+	 * moves and keeps reporting the end instead of generating again.
+	 */
+	private static void exhaust(MovesSolver solver) {
+		Iterator<Move> it = solver.iterator();
+		Set<Move> iterated = new HashSet<Move>();
+		while (it.hasNext()) {
+			iterated.add(it.next());
+		}
+		assertEquals(solver.generated(), iterated);
+		assertFalse(it.hasNext());
+		assertFalse(it.hasNext());
+		try {
+			it.next();
+			fail("Moves after the end");
+		}
+		catch (NoSuchElementException e) {
+			//Expected
+		}
+	}
+
+	private static void exhaustEveryWay(Move... moves) {
+		assertFalse(new MovesSolver(moves).generated().isEmpty());
+		exhaust(new MovesSolver(moves));
+		MovesSolver solver = new MovesSolver(moves);
+		solver.setGaddag(gaddag);
+		exhaust(solver);
+		solver = new MovesSolver(moves);
+		solver.setAnchorMoves(true);
+		exhaust(solver);
+	}
+
+	@Test
+	public void edgesExhaustedTest() {
+		exhaustEveryWay(Fixtures.edges());
+	}
+
+	@Test
+	public void cornerExhaustedTest() {
+		//The moves are only in the last steps, after many empty ones
+		exhaustEveryWay(new Move("CASA", 11, 14, Direction.RIGHT));
+	}
+
+	@Test
+	public void noLettersTest() {
+		MovesSolver solver = new MovesSolver("CASA", Fixtures.center());
+		assertFalse(solver.iterator().hasNext());
+		exhaust(solver);
+	}
+
+	@Test(expected=NoSuchElementException.class)
+	public void exhaustedTest() {
+		Iterator<Move> it = new MovesSolver(Fixtures.center()).iterator();
+		while (it.hasNext()) {
+			it.next();
+		}
+		it.next();
+	}
+}
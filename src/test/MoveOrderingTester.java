@@ -0,0 +1,34 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import solving.ScoreOrdering;
+
+public class MoveOrderingTester {
+	
+	@Test
+	public void scoreOrderingTest() {
+		int[] letters = new int[26];
+		letters['Z' - 'A'] = 1;
+		letters['O' - 'A'] = 2;
+		letters['S' - 'A'] = 1;
+		BoardState b = new BoardState(letters);
+		b.doMove(new Move("OSO", 7, 7, Direction.RIGHT));
+		Move os = new Move("OS", 7, 7, Direction.DOWN),	//Only adds the S
+				zoo = new Move("ZOO", 7, 6, Direction.DOWN),	//Adds the Z and an O
+				so = new Move("SO", 6, 6, Direction.RIGHT);	//Adds both letters
+		assertEquals(1, b.getPoints(os));
+		assertEquals(11, b.getPoints(zoo));
+		assertEquals(2, b.getPoints(so));
+		List<Move> ordered = new ScoreOrdering().order(Arrays.asList(os, zoo, so), b);
+		assertEquals(Arrays.asList(zoo, so, os), ordered);
+	}
+}
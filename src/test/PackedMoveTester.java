@@ -0,0 +1,62 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+import solving.MoveList;
+import utility.PackedWord;
+
+public class PackedMoveTester {
+	
+	@Test
+	public void packTest() {
+		long move = PackedMove.pack(PackedWord.pack("CASA"), 3, 14, Direction.DOWN, 6);
+		assertEquals("CASA", PackedWord.unpack(PackedMove.getWord(move)));
+		assertEquals('S', PackedMove.getLetter(move, 2));
+		assertEquals(3, PackedMove.getX(move));
+		assertEquals(14, PackedMove.getY(move));
+		assertEquals(Direction.DOWN, PackedMove.getDirection(move));
+		assertEquals(6, PackedMove.getScore(move));
+		assertEquals(new Move("CASA", 3, 14, Direction.DOWN), PackedMove.toMove(move));
+	}
+	
+	@Test
+	public void doAndUndoTest() {
+		int[] letters = new int[26];
+		letters['C' - 'A'] = 1;
+		letters['A' - 'A'] = 3;
+		letters['S' - 'A'] = 2;
+		BoardState b = new BoardState(letters);
+		b.doMove(new Move("CASA", 7, 7, Direction.RIGHT));
+		BoardState before = new BoardState(b);
+		long move = PackedMove.pack(PackedWord.pack("ASA"), 8, 7, Direction.DOWN, 2);	//Reuses the A on the board
+		int added = b.doMove(move);
+		assertEquals(0b110, added);
+		assertEquals(8, b.getScore());
+		assertEquals('S', b.getSpaces()[8][8]);
+		b.undoMove(move, added);
+		assertEquals(before, b);
+		assertEquals(before.getScore(), b.getScore());
+		assertEquals(before.getZobristHash(), b.getZobristHash());
+	}
+	
+	@Test
+	public void moveListTest() {
+		MoveList list = new MoveList(1);
+		long low = PackedMove.pack(PackedWord.pack("AS"), 0, 0, Direction.RIGHT, 2),
+				high = PackedMove.pack(PackedWord.pack("ZOO"), 0, 0, Direction.RIGHT, 12);
+		list.add(low);
+		list.add(high);
+		list.sortByScore();
+		assertEquals(high, list.get(0));
+		assertEquals(low, list.get(1));
+		list.clear();
+		assertTrue(list.isEmpty());
+	}
+}
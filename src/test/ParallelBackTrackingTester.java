@@ -0,0 +1,121 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.Move;
+import solving.BackTrackingSolver;
+import solving.BackTrackingWithMemorySolver;
+import solving.ParallelBackTrackingSolver;
+import utility.Dictionary;
+
+public class ParallelBackTrackingTester {
+
+	private static final String[] RACKS = {"CASAZOO", "CASAOSEC", "ZOOSACA"};
+
+	private static Dictionary dictionary;
+
+	@BeforeClass
+	public static void setUp() {
+		Dictionary.Builder builder = new Dictionary.Builder();
+		for (String word : new String[] {"CASA", "CAZA", "ASA", "AS", "SACO", "OSA", "ZOO", "COZ", "AZ", "CASO", "COSA",
+				"ESO", "SECO", "CESA"}) {
+			builder.addWord(word);
+		}
+		dictionary = builder.build();
+	}
+
+	@Test
+	public void sameScoreTest() {
+		for (String rack : RACKS) {
+			int expected = new BackTrackingSolver(dictionary, Fixtures.letters(rack), false).solve().getScore();
+			assertEquals(expected, new BackTrackingWithMemorySolver(dictionary, Fixtures.letters(rack), false).solve()
+					.getScore());
+			assertEquals(expected, new ParallelBackTrackingSolver(dictionary, Fixtures.letters(rack), false, 1).solve()
+					.getScore());
+			assertEquals(expected, new ParallelBackTrackingSolver(dictionary, Fixtures.letters(rack), false, 4).solve()
+					.getScore());
+		}
+	}
+
+	@Test
+	public void smallTableTest() {
+		for (String rack : RACKS) {
+			int expected = new BackTrackingWithMemorySolver(dictionary, Fixtures.letters(rack), false).solve().getScore();
+			//A single bucket, so most visited states are replaced and searched again
+			assertEquals(expected, new ParallelBackTrackingSolver(dictionary, Fixtures.letters(rack), false, 4, 16).solve()
+					.getScore());
+		}
+	}
+
+	/**
+	 * Records the threads that show progress.
+	 */
+	private static class ReportingSolver extends ParallelBackTrackingSolver {
+		final Set<Thread> threads = new HashSet<Thread>();
+
+		ReportingSolver(Dictionary dictionary, int[] startingLetters) {
+			super(dictionary, startingLetters, false, 4);
+		}
+
+		@Override
+		protected void print(String message) {
+			synchronized (threads) {
+				threads.add(Thread.currentThread());
+			}
+		}
+	}
+
+	@Test
+	public void reportingThreadTest() {
+		ReportingSolver solver = new ReportingSolver(dictionary, Fixtures.letters("CASAOSEC"));
+		solver.solve();
+		assertTrue(!solver.threads.isEmpty());
+		assertEquals(Thread.currentThread(), solver.threads.iterator().next());
+		assertEquals(1, solver.threads.size());
+	}
+
+	/**
+	 * Records the threads that generate moves.
+	 */
+	private static class SearchingSolver extends ParallelBackTrackingSolver {
+		final Set<Thread> threads = new HashSet<Thread>();
+
+		SearchingSolver(Dictionary dictionary, int[] startingLetters) {
+			super(dictionary, startingLetters, false, 4);
+		}
+
+		@Override
+		protected Set<Move> generateMoves(BoardState b) {
+			synchronized (threads) {
+				threads.add(Thread.currentThread());
+			}
+			return super.generateMoves(b);
+		}
+	}
+
+	@Test
+	public void poolShutDownTest() throws InterruptedException {
+		SearchingSolver solver = new SearchingSolver(dictionary, Fixtures.letters("CASAOSEC"));
+		int score = solver.solve().getScore();
+		assertEquals(score, solver.solve().getScore());	//Solving again gets a new pool
+		assertTrue(!solver.threads.isEmpty());
+		solver.threads.remove(Thread.currentThread());
+		for (Thread thread : solver.threads) {
+			thread.join(5000);
+			assertTrue(thread.getName(), !thread.isAlive());
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void noThreadsTest() {
+		new ParallelBackTrackingSolver(dictionary, Fixtures.letters("CASA"), false, 0);
+	}
+}
@@ -0,0 +1,165 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import solving.AnchorMoveGenerator;
+import solving.Helper;
+import solving.MoveList;
+import solving.ParallelMoveGenerator;
+import solving.StochasticHillClimbingSolver;
+import utility.Dictionary;
+import utility.Gaddag;
+
+public class ParallelMoveGeneratorTester {
+	private static Dictionary dictionary;
+	private static ForkJoinPool pool;
+	
+	@BeforeClass
+	public static void createDictionary() {
+		dictionary = Fixtures.dictionary();
+		pool = new ForkJoinPool(2);
+	}
+	
+	@AfterClass
+	public static void shutDownPool() {
+		pool.shutdown();
+	}
+	
+	private static BoardState board() {
+		return Fixtures.board(dictionary, Fixtures.center());
+	}
+	
+	@Test
+	public void dictionaryTest() {
+		BoardState b = board();
+		Set<Move> expected = Helper.getPossibleMoves(b, dictionary);
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, new ParallelMoveGenerator(dictionary, pool).getPossibleMoves(b, null, false));
+	}
+	
+	@Test
+	public void gaddagTest() {
+		BoardState b = board();
+		Gaddag gaddag = new Gaddag(dictionary);
+		assertEquals(Helper.getPossibleMoves(b, gaddag, dictionary),
+				new ParallelMoveGenerator(dictionary, pool).getPossibleMoves(b, gaddag, false));
+	}
+	
+	@Test
+	public void anchorsTest() {
+		BoardState b = board();
+		MoveList expected = new MoveList(), found = new MoveList();
+		new AnchorMoveGenerator(dictionary).generate(b, expected);
+		new ParallelMoveGenerator(dictionary, pool).generate(b, null, true, found);
+		assertEquals(expected.size(), found.size());
+		assertEquals(Fixtures.moves(expected), Fixtures.moves(found));
+	}
+	
+	/**
+	 * Generates from a board whose words are on the first and last rows and
+	 * columns, so the moves are in the first and last parts, with amounts of
+	 * threads that split the parts unevenly.
+	 */
+	@Test
+	public void edgesTest() {
+		BoardState b = Fixtures.board(dictionary, Fixtures.edges());
+		Gaddag gaddag = new Gaddag(dictionary);
+		Set<Move> expected = Helper.getPossibleMoves(b, dictionary);
+		assertTrue(expected.contains(new Move("CASAS", 0, 0, Direction.RIGHT)));	//First row
+		assertTrue(expected.contains(new Move("SE", 0, 11, Direction.RIGHT)));	//First column
+		assertTrue(expected.contains(new Move("ES", 14, 13, Direction.DOWN)));	//Last column and row
+		MoveList anchorMoves = new MoveList();
+		new AnchorMoveGenerator(dictionary).generate(b, anchorMoves);
+		for (int threads : new int[] {1, 3, 7, 2 * BoardState.SIZE + 1}) {
+			ParallelMoveGenerator generator = new ParallelMoveGenerator(dictionary, threads);
+			try {
+				assertEquals(expected, generator.getPossibleMoves(b, null, false));
+				assertEquals(Helper.getPossibleMoves(b, gaddag, dictionary), generator.getPossibleMoves(b, gaddag, false));
+				MoveList found = new MoveList();
+				generator.generate(b, null, true, found);
+				assertEquals(Fixtures.moves(anchorMoves), Fixtures.moves(found));
+			}
+			finally {
+				generator.close();
+			}
+		}
+	}
+	
+	/**
+	 * Counts the boards it generates moves for, and whether it was closed.
+	 */
+	private static class CountingGenerator extends ParallelMoveGenerator {
+		final AtomicInteger generated = new AtomicInteger();
+		boolean closed;
+		
+		CountingGenerator() {
+			super(dictionary, pool);
+		}
+		
+		@Override
+		public void close() {
+			closed = true;
+			super.close();
+		}
+		
+		@Override
+		public void generate(BoardState boardState, Gaddag gaddag, boolean anchors, MoveList result) {
+			generated.incrementAndGet();
+			super.generate(boardState, gaddag, anchors, result);
+		}
+	}
+	
+	@Test
+	public void stochasticTest() {
+		for (boolean anchors : new boolean[] {false, true}) {
+			StochasticHillClimbingSolver solver = new StochasticHillClimbingSolver(dictionary,
+					Fixtures.letters("CASA" + Fixtures.RACK), false, 200);
+			CountingGenerator generator = new CountingGenerator();
+			solver.setAnchorMoves(anchors);
+			solver.setParallelMoves(generator);
+			assertTrue(solver.solve().getScore() > 0);
+			assertTrue(generator.generated.get() > 0);	//The neighbors were generated by the threads
+			solver.setParallelMoves(0);
+			assertTrue(generator.closed);	//Replacing the generator closes it
+		}
+	}
+	
+	@Test
+	public void closeTest() {
+		BoardState b = board();
+		ParallelMoveGenerator shared = new ParallelMoveGenerator(dictionary, pool);
+		shared.close();
+		assertFalse(pool.isShutdown());	//The pool was supplied, so it's left running
+		assertEquals(Helper.getPossibleMoves(b, dictionary), shared.getPossibleMoves(b, null, false));
+		
+		ParallelMoveGenerator owner = new ParallelMoveGenerator(dictionary, 2);
+		owner.close();
+		try {
+			owner.getPossibleMoves(b, null, false);
+			fail("Moves generated after closing");
+		}
+		catch (RejectedExecutionException e) {
+			//Expected
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void noCrossChecksTest() {
+		new ParallelMoveGenerator(dictionary, pool).getPossibleMoves(new BoardState(new int[26]), null, true);
+	}
+}
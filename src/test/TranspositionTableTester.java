@@ -0,0 +1,106 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import solving.TranspositionTable;
+
+public class TranspositionTableTester {
+
+	@Test
+	public void addAndContainsTest() {
+		TranspositionTable t = new TranspositionTable(1 << 10);
+		assertTrue(t.add(12345L << 8, 1));
+		assertTrue(t.add(0L, 2));
+		assertTrue(t.contains(12345L << 8));
+		assertTrue(t.contains(0L));
+		assertFalse(t.contains(54321L << 8));
+		assertFalse(t.add(12345L << 8, 3));	//Already stored
+		assertEquals(2, t.size());
+	}
+
+	@Test
+	public void offHeapTest() {
+		TranspositionTable t = new TranspositionTable(1 << 10, true);
+		t.add(12345L << 8, 1);
+		t.add(-1L, 3);
+		assertTrue(t.contains(12345L << 8));
+		assertTrue(t.contains(-1L));
+		assertFalse(t.contains(54321L << 8));
+		assertEquals(128, t.capacity());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void tooLargeTest() {
+		new TranspositionTable(2L << 30);
+	}
+
+	@Test
+	public void capacityTest() {
+		TranspositionTable t = new TranspositionTable(1000);
+		assertEquals(64, t.capacity());	//1000 bytes fit 125 entries, rounded down to a power of two
+	}
+
+	@Test
+	public void replacementTest() {
+		TranspositionTable t = new TranspositionTable(16);	//A single bucket
+		t.add(1L << 8, 1);
+		t.add(2L << 8, 3);
+		t.add(3L << 8, 2);	//Replaces the deepest state
+		assertTrue(t.contains(1L << 8));
+		assertFalse(t.contains(2L << 8));
+		assertTrue(t.contains(3L << 8));
+		assertEquals(2, t.size());
+	}
+
+	@Test
+	public void clearTest() {
+		TranspositionTable t = new TranspositionTable(1 << 10);
+		t.add(1L, 1);
+		t.clear();
+		assertFalse(t.contains(1L));
+		assertEquals(0, t.size());
+	}
+
+	@Test
+	public void concurrentTest() throws InterruptedException {
+		final TranspositionTable t = new TranspositionTable(1 << 16, false, true);
+		final AtomicInteger added = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					//Every thread adds the same states, which are in different slots so none is replaced
+					for (long state = 1; state <= 1000; state++) {
+						if (t.add(state * 0x9E3779B97F4A7C15L, 1)) {
+							added.incrementAndGet();
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(1000, added.get());	//Only one thread added each state
+		assertEquals(1000, t.size());
+		assertTrue(t.contains(1000 * 0x9E3779B97F4A7C15L));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void offHeapConcurrentTest() {
+		new TranspositionTable(1 << 10, true, true);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void tooSmallTest() {
+		new TranspositionTable(8);
+	}
+}
@@ -0,0 +1,39 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import solving.BackTrackingWithMemorySolver;
+import solving.RemainingLettersBound;
+import solving.Solver;
+import utility.Dictionary;
+
+public class UpperBoundTester {
+	
+	@Test
+	public void remainingLettersTest() {
+		BoardState b = new BoardState(Fixtures.letters("CASAZ"));
+		RemainingLettersBound bound = new RemainingLettersBound();
+		assertEquals(3 + 1 + 1 + 1 + 10, bound.upperBound(b));
+		b.doMove(new Move("CASA", 7, 7, Direction.RIGHT));
+		assertEquals(3 + 1 + 1 + 1 + 10, bound.upperBound(b));	//Placed letters moved to the score
+		assertEquals(6, b.getScore());
+	}
+	
+	@Test
+	public void sameSolutionTest() {
+		Dictionary.Builder builder = new Dictionary.Builder();
+		for (String word : new String[] {"CASA", "CAZA", "ASA", "AS", "SACO", "OSA", "ZOO", "COZ", "AZ"}) {
+			builder.addWord(word);
+		}
+		Dictionary dictionary = builder.build();
+		Solver bounded = new BackTrackingWithMemorySolver(dictionary, Fixtures.letters("CASAZOO"), false);
+		Solver exhaustive = new BackTrackingWithMemorySolver(dictionary, Fixtures.letters("CASAZOO"), false);
+		exhaustive.setUpperBound(null);
+		assertEquals(exhaustive.solve().getScore(), bounded.solve().getScore());
+	}
+}
@@ -0,0 +1,98 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import utility.Dictionary;
+import utility.WordCondition;
+import utility.WordVisitor;
+import utility.WordsCache;
+
+public class WordsCacheTester {
+	
+	private Dictionary dictionary;
+	private WordsCache cache;
+	
+	@Before
+	public void setUp() {
+		dictionary = new Dictionary.Builder().addWord("Hola").addWord("Hora").addWord("Horas").addWord("Horario")
+				.addWord("Helado").addWord("Arbol").addWord("Hoy").build();
+		cache = new WordsCache(dictionary, 10);
+	}
+	
+	private static Set<WordCondition> conditions(int position, char letter) {
+		Set<WordCondition> result = new HashSet<WordCondition>();
+		result.add(new WordCondition(position, letter));
+		return result;
+	}
+	
+	private Set<String> query(Set<WordCondition> conditions, int[] letters) {
+		final Set<String> result = new HashSet<String>();
+		cache.giveMeWords(conditions, letters, 7, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				result.add(String.valueOf(word, 0, length));
+				return true;
+			}
+		});
+		return result;
+	}
+	
+	@Test
+	public void sameWordsTest() {
+		assertEquals(dictionary.giveMeWords(conditions(0, 'H')), query(conditions(0, 'H'), null));
+		assertEquals(dictionary.giveMeWords(conditions(0, 'H')), query(conditions(0, 'H'), null));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+	
+	@Test
+	public void lettersTest() {
+		int[] letters = Fixtures.letters("OYLA");
+		Set<String> result = query(conditions(0, 'H'), letters);
+		assertEquals(2, result.size());
+		assertEquals(result, query(conditions(0, 'H'), letters));
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.words());	//Only the words that can be formed are kept, plus one for the query
+		assertEquals(1, letters['O' - 'A']);
+	}
+	
+	@Test
+	public void rackKeyTest() {
+		assertEquals(2, query(conditions(0, 'H'), Fixtures.letters("OLAY")).size());
+		assertEquals(1, query(conditions(0, 'H'), Fixtures.letters("OY")).size());
+		assertEquals(2, cache.getMisses());
+		//Only as many of each letter as free positions count, so these are the same query
+		query(conditions(0, 'H'), Fixtures.letters("OOOOOOOOYY"));
+		query(conditions(0, 'H'), Fixtures.letters("OOOOOOOYY"));
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+	}
+	
+	@Test
+	public void evictionTest() {
+		query(conditions(0, 'H'), null);	//6 words
+		query(conditions(0, 'A'), null);	//1 word
+		query(conditions(0, 'H'), null);	//Now 'A' is the least recently used
+		query(conditions(1, 'E'), null);	//1 word, doesn't fit with the other two
+		assertEquals(2, cache.size());
+		assertEquals(9, cache.words());
+		query(conditions(0, 'H'), null);
+		query(conditions(0, 'A'), null);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+	}
+	
+	@Test
+	public void tooManyWordsTest() {
+		cache = new WordsCache(dictionary, 5);
+		assertEquals(dictionary.giveMeWords(conditions(0, 'H')), query(conditions(0, 'H'), null));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.words());
+	}
+}
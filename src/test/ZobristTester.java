@@ -0,0 +1,73 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import general.BoardState;
+import general.BoardState.Direction;
+import general.Move;
+import general.PackedMove;
+
+public class ZobristTester {
+
+	private static BoardState board() {
+		int[] letters = new int[26];
+		for (char c : "HOLASOLAR".toCharArray()) {
+			letters[c - 'A']++;
+		}
+		return new BoardState(letters);
+	}
+
+	@Test
+	public void undoMoveTest() {
+		BoardState board = board();
+		board.doMove(new Move("HOLA", 7, 7, Direction.RIGHT));
+		long before = board.getZobristHash();
+
+		Move move = new Move("SOL", 8, 6, Direction.DOWN);	//Crosses the O of HOLA
+		board.doMove(move);
+		assertTrue(before != board.getZobristHash());
+		board.undoMove(move);
+		assertEquals(before, board.getZobristHash());
+
+		long packed = PackedMove.pack(move, 0);
+		int added = board.doMove(packed);
+		assertTrue(before != board.getZobristHash());
+		board.undoMove(packed, added);
+		assertEquals(before, board.getZobristHash());
+	}
+
+	@Test
+	public void moveOrderTest() {
+		Move hola = new Move("HOLA", 7, 7, Direction.RIGHT), sol = new Move("SOL", 8, 6, Direction.DOWN);
+		BoardState first = board(), second = board();
+		first.doMove(hola);
+		first.doMove(sol);
+		second.doMove(new Move("SOL", 8, 6, Direction.DOWN));
+		second.doMove(new Move("HOLA", 7, 7, Direction.RIGHT));
+		assertEquals(first.getZobristHash(), second.getZobristHash());
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+
+		BoardState moved = board(), other = board();
+		moved.doMove(new Move("HOLA", 7, 7, Direction.RIGHT));
+		other.doMove(new Move("HOLA", 7, 8, Direction.RIGHT));	//Same letters, different slots
+		assertTrue(moved.getZobristHash() != other.getZobristHash());
+		assertFalse(moved.equals(other));
+	}
+
+	@Test
+	public void copyTest() {
+		BoardState board = board();
+		board.doMove(new Move("HOLA", 7, 7, Direction.RIGHT));
+		BoardState copy = new BoardState(board);
+		assertEquals(board.getZobristHash(), copy.getZobristHash());
+		assertEquals(board, copy);
+
+		copy.doMove(new Move("SOL", 8, 6, Direction.DOWN));	//Copies keep their own hash
+		assertTrue(board.getZobristHash() != copy.getZobristHash());
+	}
+}
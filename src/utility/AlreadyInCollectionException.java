@@ -1,14 +0,0 @@
-package utility;
-
-@SuppressWarnings("serial")
-public class AlreadyInCollectionException extends RuntimeException {
-	
-	public AlreadyInCollectionException() {
-		super();
-	}
-	
-	public AlreadyInCollectionException(String message) {
-		super(message);
-	}
-
-}
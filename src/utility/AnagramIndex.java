@@ -0,0 +1,160 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of words by their signature, the word's letters in alphabetical order. Anagrams share the same signature, so
+ * "AMOR", "ROMA" and "RAMO" are all found under "AMOR".
+ * <p>The signatures are stored in a graph compiled the same way as {@link Dictionary}'s. Since their letters are
+ * sorted, the words that can be formed with some letters are found by walking the graph only through letters that are
+ * still available, without going through every word.</p>
+ *
+ */
+public class AnagramIndex {
+	private final int[] graph;
+	private final int root;
+	private final Map<Long, String[]> words;
+	
+	/**
+	 * Creates an index with the specified words.
+	 * 
+	 * @param words The words to index. Words longer than 7 letters or with characters other than 'A' to 'Z' are ignored.
+	 */
+	public AnagramIndex(Collection<String> words) {
+		Map<Long, List<String>> groups = new HashMap<Long, List<String>>();
+		WordGraph.LetterNode trie = new WordGraph.LetterNode();
+		for (String each : words) {
+			String word = each.toUpperCase();
+			char[] signature = signature(word);
+			long packed = pack(signature);
+			if (packed == PackedWord.INVALID || packed == PackedWord.EMPTY) {
+				continue;
+			}
+			List<String> group = groups.get(packed);
+			if (group == null) {
+				group = new ArrayList<String>();
+				groups.put(packed, group);
+				WordGraph.LetterNode current = trie;
+				for (char c : signature) {
+					current = current.childOrNew(c - 'A');
+				}
+				current.terminal = true;
+			}
+			group.add(word);
+		}
+		
+		this.words = new HashMap<Long, String[]>();
+		for (Map.Entry<Long, List<String>> each : groups.entrySet()) {
+			this.words.put(each.getKey(), each.getValue().toArray(new String[each.getValue().size()]));
+		}
+		WordGraph.Builder builder = new WordGraph.Builder();
+		root = builder.add(trie);
+		graph = builder.toArray();
+	}
+	
+	/**
+	 * Creates an index with all the words in the specified dictionary.
+	 *
+	 * @param dictionary The dictionary whose words to index.
+	 */
+	public AnagramIndex(Dictionary dictionary) {
+		this(dictionary.giveMeWords(new HashSet<WordCondition>()));
+	}
+	
+	private static char[] signature(String word) {
+		char[] result = word.toCharArray();
+		Arrays.sort(result);
+		return result;
+	}
+	
+	private static long pack(char[] letters) {
+		long result = PackedWord.EMPTY;
+		for (char c : letters) {
+			result = PackedWord.append(result, c);
+		}
+		return result;
+	}
+	
+	
+	
+	/**
+	 * Returns the words formed with exactly the letters of the specified word, including itself if indexed.
+	 * 
+	 * @param word The letters to rearrange
+	 * @return The anagrams of the word
+	 */
+	public Set<String> anagrams(String word) {
+		Set<String> result = new HashSet<String>();
+		String[] group = words.get(pack(signature(word.toUpperCase())));
+		if (group != null) {
+			result.addAll(Arrays.asList(group));
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns every word that can be formed with the specified letters, not necessarily using all of them.
+	 * 
+	 * @param letters How many of each letter ('A' to 'Z') are available
+	 * @return The words that can be formed
+	 */
+	public Set<String> giveMeWords(int[] letters) {
+		final Set<String> result = new HashSet<String>();
+		giveMeWords(letters, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				result.add(String.valueOf(word, 0, length));
+				return true;
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Finds the same words as {@link #giveMeWords(int[])}, but hands them to the specified visitor as they are found.
+	 * The visitor can stop the search at any time.
+	 * 
+	 * @param letters How many of each letter ('A' to 'Z') are available
+	 * @param visitor The visitor that receives each word found
+	 * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+	 */
+	public boolean giveMeWords(int[] letters, WordVisitor visitor) {
+		return giveMeWords(letters.clone(), visitor, root, PackedWord.EMPTY, new char[PackedWord.MAX_LENGTH]);
+	}
+	
+	private boolean giveMeWords(int[] letters, WordVisitor visitor, int node, long signature, char[] buffer) {
+		int header = graph[node];
+		if ((header & WordGraph.TERMINAL) != 0) {
+			for (String word : words.get(signature)) {
+				word.getChars(0, word.length(), buffer, 0);
+				if (!visitor.visit(buffer, word.length())) {
+					return false;
+				}
+			}
+		}
+		
+		int mask = header & WordGraph.CHILDREN_MASK;
+		for (int i = node + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+			int letter = Integer.numberOfTrailingZeros(mask);
+			if (letters[letter] == 0) {
+				continue; // Letters in a signature are sorted, so this letter is needed by every word below
+			}
+			letters[letter]--;
+			boolean result = giveMeWords(letters, visitor, graph[i], PackedWord.append(signature, (char) ('A' + letter)),
+					buffer);
+			letters[letter]++;
+			if (!result) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -1,21 +1,37 @@
 package utility;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 /**
- * This class represents a dictionary using a try as a data structure
+ * This class represents a dictionary stored as a minimized directed acyclic word graph. Dictionaries are created with a
+ * {@link Builder}, or loaded from a file written with {@link #save(String)}, and can't be changed afterwards, so any
+ * number of threads can query the same dictionary without locking.
  *
  */
 public class Dictionary {
-    Map<Character, LetterNode> root;
+    private static final int MAGIC = 0x44415747; // "DAWG"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4; // Magic, version, root and graph size
     
-    public Dictionary() {
-        root = new HashMap<Character, LetterNode>();
+    /**
+     * Compiled graph, see {@link WordGraph} for its layout. It is either held in the heap or mapped from a file, and
+     * only read with absolute gets, which don't change the buffer's state.
+     */
+    private final IntBuffer graph;
+    private final int root;
+    
+    private Dictionary(IntBuffer graph, int root) {
+        this.graph = graph;
+        this.root = root;
     }
     
     /**
@@ -24,42 +40,9 @@ public class Dictionary {
      * @return <code>true</code> if the dictionary is empty, or <code>false</code> if not
      */
     public boolean isEmpty() {
-        return root.isEmpty();
-    }
-    
-    
-    /**
-     * Adds the specified word to the dictionary
-     *
-     * @param word The word to be added
-     * @throw IllegalArgumentException When trying to add a word with more than 7 letters
-     */
-    public void addWord(String word) {
-        
-        if (word.length() > 7) {
-            throw new IllegalArgumentException("Words must have a mixumum length of 7 letters");
-        }
-        
-        char [] aux = word.toUpperCase().toCharArray();
-        addWord(aux, 0, root);
+        return graph.get(root) == 0;
     }
     
-    private void addWord(char[] word, int i, Map<Character, LetterNode> nodes) {
-        
-        if (i == word.length) {
-            if(nodes.get('#') == null) { // This means that the word was already added
-                nodes.put('#', new LetterNode('#'));
-            }
-            return;
-        }
-        
-        LetterNode next = nodes.get(word[i]);
-        if(next == null) {
-            next = new LetterNode(word[i]);
-            nodes.put(word[i], next);
-        }
-        addWord(word, i + 1, next.next);
-    }
     
     /**
      * Evaluates if the specified word is contained in the dictionary
@@ -73,21 +56,26 @@ public class Dictionary {
             return false;
         }
         
-        char [] aux = word.toUpperCase().toCharArray();
-        return hasWord(aux, 0, root);
+        int current = find(graph, word);
+        return current != -1 && (graph.get(current) & WordGraph.TERMINAL) != 0;
     }
     
-    private boolean hasWord(char[] word, int i, Map<Character, LetterNode> nodes) {
-        
-        if(i == word.length) {
-            return nodes.containsKey('#');
-        }
-        
-        LetterNode aux = nodes.get(word[i]);
-        if(aux == null) {
+    /**
+     * Evaluates if the specified packed word is contained in the dictionary, following one node of the graph per
+     * letter without unpacking it.
+     *
+     * @param word The word to be evaluated, packed with {@link PackedWord}
+     * @return <code>true</code> if the dictionary contained the word, or <code>false</code> if not
+     */
+    public boolean hasWord(long word) {
+        if (word == PackedWord.INVALID || word == PackedWord.EMPTY) {
             return false;
         }
-        return hasWord(word, i + 1, aux.next);
+        int current = root;
+        for (int i = 0, length = PackedWord.length(word); i < length && current != -1; i++) {
+            current = WordGraph.child(graph, current, PackedWord.letter(word, i) - 'A');
+        }
+        return current != -1 && (graph.get(current) & WordGraph.TERMINAL) != 0;
     }
     
     
@@ -103,106 +91,435 @@ public class Dictionary {
      * @return A Set of words that satisfy the conditions
      */
     public Set<String> giveMeWords(Collection<WordCondition> wordConditions) {
-        
-        ConditionsQueue queue = new ConditionsQueue();
-        
-        for (WordCondition each : wordConditions) {
-            try {
-                queue.enqueueCondition(each); // Exception is thrown in case there are two conditions for the same position
+        final Set<String> result = new HashSet<String>();
+        giveMeWords(wordConditions, new WordVisitor() {
+            @Override
+            public boolean visit(char[] word, int length) {
+                result.add(String.valueOf(word, 0, length));
+                return true;
             }
-            catch(AlreadyInCollectionException e) {
-                //Skip this
+        });
+        return result;
+    }
+    
+    /**
+     * Finds the same words as {@link #giveMeWords(Collection)}, but hands them to the specified visitor as they are
+     * found instead of collecting them in a set. The visitor can stop the search at any time.
+     *
+     * @param wordConditions The conditions that the words must satisfy
+     * @param visitor The visitor that receives each word found
+     * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+     */
+    public boolean giveMeWords(Collection<WordCondition> wordConditions, WordVisitor visitor) {
+        return giveMeWords(wordConditions, null, visitor);
+    }
+    
+    /**
+     * Finds the words of {@link #giveMeWords(Collection, WordVisitor)} that can also be formed with the specified
+     * letters. Positions with a condition take their letter from the condition, every other position uses up one of
+     * the available letters, so branches that need a letter that ran out are not explored.
+     *
+     * @param wordConditions The conditions that the words must satisfy
+     * @param letters How many of each letter ('A' to 'Z') are available, or <code>null</code> to find words regardless
+     * of the available letters
+     * @param visitor The visitor that receives each word found
+     * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+     */
+    public boolean giveMeWords(Collection<WordCondition> wordConditions, int[] letters, WordVisitor visitor) {
+        return giveMeWords(wordConditions, letters, 7, visitor);
+    }
+    
+    /**
+     * Finds the words of {@link #giveMeWords(Collection, int[], WordVisitor)} that are at most the specified length.
+     * Branches without words short enough are not explored.
+     *
+     * @param wordConditions The conditions that the words must satisfy
+     * @param letters How many of each letter ('A' to 'Z') are available, or <code>null</code> to find words regardless
+     * of the available letters
+     * @param maxLength The maximum length of the words, such as the space left up to the edge of the board
+     * @param visitor The visitor that receives each word found
+     * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+     */
+    public boolean giveMeWords(Collection<WordCondition> wordConditions, int[] letters, int maxLength,
+            WordVisitor visitor) {
+        char[] word = new char[7];
+        int positions = positions(wordConditions, word);
+        if (letters != null) {
+            letters = letters.clone(); // Don't touch the caller's letters
+        }
+        return giveMeWords(positions, word, letters, maxLength, visitor);
+    }
+    
+    /**
+     * Finds the same words as {@link #giveMeWords(Collection, int[], int, WordVisitor)}, with the conditions given as
+     * a mask of positions and the letter for each of them. The search doesn't create any objects.
+     * <p>The conditions array is also used as the buffer handed to the visitor: the letters in positions without a
+     * condition are overwritten, and the available letters are taken and put back while searching. Both arrays are
+     * left as they were given once the search ends, whether the visitor stopped it or not, except for the letters in
+     * positions without a condition.</p>
+     *
+     * @param positions A mask with the bit <i>n</i> set if there is a condition for the position <i>n</i>
+     * @param conditions An array of 7 characters with the letter each position with a condition must have
+     * @param letters How many of each letter ('A' to 'Z') are available, or <code>null</code> to find words regardless
+     * of the available letters
+     * @param maxLength The maximum length of the words
+     * @param visitor The visitor that receives each word found
+     * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+     */
+    public boolean giveMeWords(int positions, char[] conditions, int[] letters, int maxLength, WordVisitor visitor) {
+        maxLength = Math.min(maxLength, 7); // Seven is the maximum word length
+        return giveMeWords(graph, positions, letters, maxLength, visitor, 0, conditions, root);
+    }
+    
+    /**
+     * Writes the letters of the specified conditions in an array indexed by position, and returns the mask of the
+     * positions with a condition. If there are two conditions for the same position, the first one is kept.
+     */
+    static int positions(Collection<WordCondition> wordConditions, char[] letters) {
+        int result = 0;
+        for (WordCondition each : wordConditions) {
+            int position = each.getPosition();
+            if (position < 0 || position >= letters.length || (result & (1 << position)) != 0) {
+                continue; // No word reaches it, or there was already a condition for it
             }
+            result |= 1 << position;
+            letters[position] = each.getLetter();
         }
-        
-        Set<String> result = new HashSet<String>();
-        giveMeWords(queue, result, 0, new char[7], root); // Seven is the maximum word length
         return result;
     }
     
     
     
-    private void giveMeWords(ConditionsQueue queue, Set<String> results, int currentPosition,
-            char[] word, Map<Character, LetterNode> nodes) {
+    private boolean giveMeWords(IntBuffer graph, int positions, int[] letters, int maxLength, WordVisitor visitor,
+            int currentPosition, char[] word, int node) {
         
-        WordCondition currentCondition = queue.peekCondition();
+        int header = graph.get(node);
         
-        if (currentCondition == null || currentPosition != currentCondition.getPosition()) {
+        // If a found an existing word, I must visit it even though it doesn't satisfy the next condition.
+        // It can be used in a possible move
+        if ((header & WordGraph.TERMINAL) != 0 && !visitor.visit(word, currentPosition)) {
+            return false;
+        }
+        
+        if ((positions & (1 << currentPosition)) == 0) {
             
-            // If currentCondition is null, there are no more conditions to be satisfied, so I must continue traveling through the trie searching
-            // for words. If current condition is not null, but there is no condition for the current position, I also have to travel through
-            // the trie, after I get a condition for the current position
+            // If there is no condition for the current position, I have to travel through every child searching for
+            // words
             
-            for (Entry<Character, LetterNode> each : nodes.entrySet()) {
-                
-                // TODO capaz puedo meter el conditon checker adentro de la iteracion
-                
-                char auxLetter = each.getKey();
-                if (auxLetter != '#') {
-                    // The possible words continue, so I must check if the next letters of the possible words
-                    // satisfies the conditions
-                    word[currentPosition] = auxLetter;
-                    giveMeWords(queue, results, currentPosition + 1, word, each.getValue().next);
-                } else {
-                    // If a found an existing word, I must add it to the set even though it doesn't satisfy. It can be used
-                    // in a possible move
-                    String addingWord = String.valueOf(word, 0, currentPosition);
-                    results.add(addingWord);
-                    
+            int mask = header & WordGraph.CHILDREN_MASK;
+            for (int i = node + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+                int letter = Integer.numberOfTrailingZeros(mask);
+                if (letters != null && letters[letter] == 0) {
+                    continue; // No letters left to place here
+                }
+                if (!fits(graph, graph.get(i), currentPosition + 1, maxLength)) {
+                    continue; // Every word below is too long
+                }
+                word[currentPosition] = (char) ('A' + letter);
+                if (letters != null) {
+                    letters[letter]--;
+                }
+                boolean result = giveMeWords(graph, positions, letters, maxLength, visitor, currentPosition + 1, word,
+                        graph.get(i));
+                if (letters != null) {
+                    letters[letter]++;
+                }
+                if (!result) {
+                    return false;
                 }
             }
-            return;
+            return true;
         }
         // If a get here, it means that there was a condition for the current position
-        // If there is a word that finishes before this condition, it must be added
         
-        if (nodes.get('#') != null) {
-            String addingWord = String.valueOf(word, 0, currentPosition);
-            results.add(addingWord);
+        int index = word[currentPosition] - 'A';
+        int aux = (index < 0 || index >= 26) ? -1 : WordGraph.child(graph, node, index);
+        if (aux == -1 || !fits(graph, aux, currentPosition + 1, maxLength)) {
+            return true; // There is no word that satisfies the current letter condition and fits
         }
+        return giveMeWords(graph, positions, letters, maxLength, visitor, currentPosition + 1, word, aux);
+    }
+    
+    /**
+     * Finds the words that can be placed on a line of the board going through the specified anchor, an empty slot next
+     * to a letter, as described by Appel and Jacobson. Words are extended to the left of the anchor with the letters
+     * already on the board right before it or, if there are none, with up to <code>maxPrefix</code> available letters,
+     * and then to the right through the anchor until ending right before an empty slot or the end of the line. Only the
+     * whole run of letters is visited, and the search doesn't create any objects.
+     * <p>The line is also used as the buffer handed to the visitor: letters are written in its empty slots and cleared
+     * again while searching, as the available letters are taken and put back. Both arrays are left as they were given
+     * once the search ends, whether the visitor stopped it or not.</p>
+     *
+     * @param line The letters on the line, with a space in the empty slots
+     * @param crossChecks For each slot of the line, a mask with the bit <i>n</i> set if the letter <i>n</i> can be
+     * placed in it
+     * @param anchor The index of the empty slot every word must go through
+     * @param maxPrefix How many letters can be placed right before the anchor, used only if there is no letter right
+     * before it
+     * @param letters How many of each letter ('A' to 'Z') are available
+     * @param visitor The visitor that receives each word found
+     * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+     */
+    public boolean giveMeWords(char[] line, int[] crossChecks, int anchor, int maxPrefix, int[] letters,
+            LineVisitor visitor) {
+        int start = anchor;
+        while (start > 0 && line[start - 1] != ' ') {
+            start--;
+        }
+        if (start < anchor) {
+            int node = root; // The prefix is already on the board, follow it
+            for (int i = start; i < anchor && node != -1; i++) {
+                node = WordGraph.child(graph, node, line[i] - 'A');
+            }
+            return node == -1 || extendRight(graph, line, crossChecks, anchor, letters, visitor, start, anchor, node);
+        }
+        maxPrefix = Math.min(Math.min(maxPrefix, anchor), 6); // Seven is the maximum word length, one is the anchor's
+        for (int prefix = 0; prefix <= maxPrefix; prefix++) {
+            if (!extendLeft(graph, line, crossChecks, anchor, letters, visitor, anchor - prefix, anchor - prefix, root)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Places available letters from <code>start</code> up to the anchor, then extends the words to the right.
+     */
+    private static boolean extendLeft(IntBuffer graph, char[] line, int[] crossChecks, int anchor, int[] letters,
+            LineVisitor visitor, int start, int position, int node) {
+        if (position == anchor) {
+            return extendRight(graph, line, crossChecks, anchor, letters, visitor, start, position, node);
+        }
+        int mask = graph.get(node) & WordGraph.CHILDREN_MASK;
+        for (int i = node + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            if (letter >= 26 || letters[letter] == 0 || (crossChecks[position] & (1 << letter)) == 0) {
+                continue;
+            }
+            if (!fits(graph, graph.get(i), position - start + 1, Math.min(7, line.length - start))) {
+                continue; // Every word below is too long
+            }
+            line[position] = (char) ('A' + letter);
+            letters[letter]--;
+            boolean result = extendLeft(graph, line, crossChecks, anchor, letters, visitor, start, position + 1,
+                    graph.get(i));
+            letters[letter]++;
+            line[position] = ' ';
+            if (!result) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Extends the words from the specified position to the right, following the letters on the board and placing
+     * available letters in the empty slots, and visits them when they end after the anchor.
+     */
+    private static boolean extendRight(IntBuffer graph, char[] line, int[] crossChecks, int anchor, int[] letters,
+            LineVisitor visitor, int start, int position, int node) {
+        if (position < line.length && line[position] != ' ') {
+            int next = WordGraph.child(graph, node, line[position] - 'A');
+            return next == -1 || extendRight(graph, line, crossChecks, anchor, letters, visitor, start, position + 1,
+                    next);
+        }
+        int header = graph.get(node);
+        if (position > anchor && (header & WordGraph.TERMINAL) != 0 && !visitor.visit(line, start, position - start)) {
+            return false;
+        }
+        if (position == line.length) {
+            return true;
+        }
+        int mask = header & WordGraph.CHILDREN_MASK;
+        for (int i = node + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            if (letter >= 26 || letters[letter] == 0 || (crossChecks[position] & (1 << letter)) == 0) {
+                continue;
+            }
+            if (!fits(graph, graph.get(i), position - start + 1, Math.min(7, line.length - start))) {
+                continue;
+            }
+            line[position] = (char) ('A' + letter);
+            letters[letter]--;
+            boolean result = extendRight(graph, line, crossChecks, anchor, letters, visitor, start, position + 1,
+                    graph.get(i));
+            letters[letter]++;
+            line[position] = ' ';
+            if (!result) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Evaluates if any word below the specified node, which is at the specified depth, is at most the specified length.
+     */
+    private static boolean fits(IntBuffer graph, int node, int depth, int maxLength) {
+        int allowed = (1 << Math.max(maxLength - depth + 1, 0)) - 1;
+        return (graph.get(node + 1) & WordGraph.LENGTHS_MASK & allowed) != 0;
+    }
+    
+    
+    
+    /**
+     * Returns the highest total of {@link general.BoardState#LETTER_POINTS} of any word starting with the specified
+     * prefix, counting only the letters after the prefix.
+     *
+     * @param prefix The start of the words, empty for the whole dictionary
+     * @return The highest points total, or -1 if no word starts with the prefix
+     */
+    public int maxPoints(String prefix) {
+        int node = find(graph, prefix);
+        if (node == -1 || (graph.get(node + 1) & WordGraph.LENGTHS_MASK) == 0) {
+            return -1;
+        }
+        return graph.get(node + 1) >>> WordGraph.POINTS_SHIFT;
+    }
+    
+    /**
+     * Returns the lengths of the words starting with the specified prefix
+     *
+     * @param prefix The start of the words, empty for the whole dictionary
+     * @return A mask with the bit <i>n</i> set if a word of length <i>n</i> starts with the prefix
+     */
+    public int wordLengths(String prefix) {
+        int node = find(graph, prefix);
+        if (node == -1) {
+            return 0;
+        }
+        return (graph.get(node + 1) & WordGraph.LENGTHS_MASK) << prefix.length();
+    }
+    
+    /**
+     * Returns the node reached by the specified prefix, or -1 if there is none.
+     */
+    private int find(IntBuffer graph, String prefix) {
+        int current = root;
+        for (int i = 0; i < prefix.length() && current != -1; i++) {
+            int index = Character.toUpperCase(prefix.charAt(i)) - 'A';
+            if (index < 0 || index >= 26) {
+                return -1;
+            }
+            current = WordGraph.child(graph, current, index);
+        }
+        return current;
+    }
+    
+    
+    
+    /**
+     * Writes the compiled graph to the specified file, so it can be loaded with {@link #load(String)} instead of adding
+     * the words again.
+     *
+     * @param path The path of the file to write
+     * @throws IOException If the file can't be written
+     */
+    public void save(String path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((HEADER_SIZE + graph.limit()) * 4);
+        buffer.asIntBuffer().put(MAGIC).put(VERSION).put(root).put(graph.limit()).put(graph.duplicate());
         
-        LetterNode aux = nodes.get(currentCondition.getLetter());
-        if (aux == null) {
-            return; // There is no word that satisfies the current letter condition
-        }
-        word[currentPosition] = aux.elem;
-        currentCondition = queue.dequeueCondition();
-        giveMeWords(queue, results, currentPosition + 1, word, aux.next);
-        queue.returnConditionToTheQueue(currentCondition);
-        return;
-        
-        
+        FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        finally {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Loads a dictionary written with {@link #save(String)}. The file is memory-mapped read-only instead of read, so
+     * loading takes no time regardless of the amount of words, and processes using the same file share its pages.
+     *
+     * @param path The path of the file to load
+     * @return The dictionary stored in the file
+     * @throws IOException If the file can't be read, or if it isn't a compiled dictionary
+     */
+    public static Dictionary load(String path) throws IOException {
+        MappedByteBuffer buffer;
+        FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid after closing
+        }
+        finally {
+            channel.close();
+        }
         
+        IntBuffer ints = buffer.asIntBuffer();
+        if (ints.limit() < HEADER_SIZE || ints.get(0) != MAGIC || ints.get(1) != VERSION) {
+            throw new IOException("Not a compiled dictionary file: " + path);
+        }
+        int root = ints.get(2), size = ints.get(3);
+        if (size != ints.limit() - HEADER_SIZE || root < 0 || root >= size) {
+            throw new IOException("Corrupt compiled dictionary file: " + path);
+        }
         
+        ints.position(HEADER_SIZE);
+        return new Dictionary(ints.slice(), root);
     }
     
     
     
-    private static class LetterNode {
-        char elem;
-        Map<Character, LetterNode> next;
-        
-        public LetterNode(char c) {
-            elem = c;
-            next = (c == '#') ? null : new HashMap<Character, LetterNode>(); // Avoids creating a list in a finishing word node
-        }
+    /**
+     * Collects the words of a dictionary in a trie, and then compiles them into a {@link Dictionary}.
+     */
+    public static class Builder {
+        private WordGraph.LetterNode trie = new WordGraph.LetterNode();
         
-        @Override
-        public boolean equals(Object obj) {
-            if (obj == this) {
-                return true;
+        /**
+         * Adds the specified word to the dictionary being built
+         *
+         * @param word The word to be added
+         * @return This builder
+         * @throw IllegalArgumentException When trying to add a word with more than 7 letters, or with characters
+         * other than 'A' to 'Z'
+         * @throw IllegalStateException When the dictionary has already been built
+         */
+        public Builder addWord(String word) {
+            
+            if (trie == null) {
+                throw new IllegalStateException("Words can't be added once the dictionary is built");
             }
             
-            if (obj == null) {
-                return false;
+            if (word.length() > 7) {
+                throw new IllegalArgumentException("Words must have a mixumum length of 7 letters");
             }
             
-            if (obj.getClass() != this.getClass()) {
-                return false;
+            char [] aux = word.toUpperCase().toCharArray();
+            for (char c : aux) {
+                if (c < 'A' || c > 'Z') {
+                    throw new IllegalArgumentException("Words must only contain letters from 'A' to 'Z'");
+                }
             }
             
-            LetterNode other = (LetterNode) obj;
-            return (other.elem == this.elem); // Equality of nodes is defined by its element
+            WordGraph.LetterNode current = trie;
+            for (char c : aux) {
+                current = current.childOrNew(c - 'A');
+            }
+            current.terminal = true;
+            return this;
+        }
+        
+        /**
+         * Compiles the words added into a minimized directed acyclic word graph: nodes that end the same set of
+         * suffixes are merged, so every suffix is stored only once. The trie used to add the words is then discarded,
+         * and no more words can be added.
+         *
+         * @return The dictionary with the words added
+         * @throw IllegalStateException When the dictionary has already been built
+         */
+        public Dictionary build() {
+            if (trie == null) {
+                throw new IllegalStateException("The dictionary has already been built");
+            }
+            WordGraph.Builder builder = new WordGraph.Builder();
+            int root = builder.add(trie);
+            trie = null;
+            return new Dictionary(IntBuffer.wrap(builder.toArray()), root);
         }
     }
 }
@@ -0,0 +1,235 @@
+package utility;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents a dictionary stored as a GADDAG. For every word and every letter in it, the graph holds a path
+ * with the letters up to that one in reverse order, a separator, and the rest of the word. For example, "HOLA" is stored
+ * as "H+OLA", "OH+LA", "LOH+A" and "ALOH+". Any path starting at the root therefore begins at some letter of the word,
+ * grows it to the left and then to the right, so words can be generated outward from a letter already on the board
+ * instead of from every possible starting square.
+ * <p>The graph is minimized and compiled the same way as {@link Dictionary}'s.</p>
+ */
+public class Gaddag {
+    private static final int SEPARATOR = WordGraph.LETTERS - 1;
+    private static final int MAX_LENGTH = 7;
+    
+    private final int[] graph;
+    private final int root;
+    
+    /**
+     * Creates a GADDAG with the specified words.
+     *
+     * @param words The words to store. Words longer than 7 letters or with characters other than 'A' to 'Z' are ignored.
+     */
+    public Gaddag(Collection<String> words) {
+        WordGraph.LetterNode trie = new WordGraph.LetterNode();
+        for (String each : words) {
+            char[] word = each.toUpperCase().toCharArray();
+            if (isValid(word)) {
+                addWord(trie, word);
+            }
+        }
+        WordGraph.Builder builder = new WordGraph.Builder();
+        root = builder.add(trie);
+        graph = builder.toArray();
+    }
+    
+    /**
+     * Creates a GADDAG with all the words in the specified dictionary.
+     *
+     * @param dictionary The dictionary whose words to store.
+     */
+    public Gaddag(Dictionary dictionary) {
+        this(dictionary.giveMeWords(new HashSet<WordCondition>()));
+    }
+    
+    private static boolean isValid(char[] word) {
+        if (word.length == 0 || word.length > MAX_LENGTH) {
+            return false;
+        }
+        for (char c : word) {
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static void addWord(WordGraph.LetterNode trie, char[] word) {
+        for (int split = 1; split <= word.length; split++) {
+            WordGraph.LetterNode current = trie;
+            for (int i = split - 1; i >= 0; i--) {
+                current = current.childOrNew(word[i] - 'A');
+            }
+            current = current.childOrNew(SEPARATOR);
+            for (int i = split; i < word.length; i++) {
+                current = current.childOrNew(word[i] - 'A');
+            }
+            current.terminal = true;
+        }
+    }
+    
+    
+    
+    /**
+     * Returns the words that can be placed on a line of the board covering the specified anchor square. Squares of the
+     * line with a letter must be matched by the word, empty squares (<code>' '</code>) accept any letter. Letters
+     * beyond the ends of the word are not taken into account.
+     * <p>Placements that also cover an occupied square to the left of the anchor are left out, since they are found
+     * when using that square as the anchor.</p>
+     *
+     * @param line The squares of a row or a column of the board.
+     * @param anchor The index in the line of the square every word must cover.
+     * @return A map from the index in the line where words start to the words starting there.
+     */
+    public Map<Integer, Set<String>> giveMeWords(char[] line, int anchor) {
+        final Map<Integer, Set<String>> result = new HashMap<Integer, Set<String>>();
+        giveMeWords(line.clone(), anchor, null, null, new LineVisitor() {
+            @Override
+            public boolean visit(char[] line, int start, int length) {
+                Set<String> words = result.get(start);
+                if (words == null) {
+                    words = new HashSet<String>();
+                    result.put(start, words);
+                }
+                words.add(String.valueOf(line, start, length));
+                return true;
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Finds the same words as {@link #giveMeWords(char[], int)}, but only placing the available letters on the empty
+     * squares, and only the letters their cross-checks allow. Branches of the graph with no letter to place are never
+     * followed, and the search doesn't create any objects.
+     * <p>The line is also used as the buffer handed to the visitor: letters are written in its empty squares and
+     * cleared again while searching, as the available letters are taken and put back. Both arrays are left as they
+     * were given once the search ends, whether the visitor stopped it or not.</p>
+     *
+     * @param line The squares of a row or a column of the board.
+     * @param anchor The index in the line of the square every word must cover.
+     * @param letters How many of each letter ('A' to 'Z') are available, or <code>null</code> for any amount.
+     * @param crossChecks For each square of the line, a mask with the bit <i>n</i> set if the letter <i>n</i> can be
+     * placed in it, or <code>null</code> to place any letter.
+     * @param visitor The visitor that receives each word found.
+     * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search.
+     */
+    public boolean giveMeWords(char[] line, int anchor, int[] letters, int[] crossChecks, LineVisitor visitor) {
+        if (line[anchor] != ' ') {
+            int index = line[anchor] - 'A';
+            int node = (index < 0 || index >= 26) ? -1 : WordGraph.child(graph, root, index);
+            return node == -1 || extendLeft(line, anchor, anchor, node, 1, letters, crossChecks, visitor);
+        }
+        
+        int mask = graph[root] & WordGraph.CHILDREN_MASK;
+        for (int i = root + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            if (letter != SEPARATOR && canPlace(letter, anchor, letters, crossChecks)) {
+                line[anchor] = (char) ('A' + letter);
+                take(letters, letter, -1);
+                boolean result = extendLeft(line, anchor, anchor, graph[i], 1, letters, crossChecks, visitor);
+                take(letters, letter, 1);
+                line[anchor] = ' ';
+                if (!result) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Grows the left part of the word, which already covers the line from <code>position</code> to the anchor.
+     */
+    private boolean extendLeft(char[] line, int anchor, int position, int node, int length, int[] letters,
+            int[] crossChecks, LineVisitor visitor) {
+        
+        // The left part may end here, then the word continues to the right of the anchor
+        int separator = WordGraph.child(graph, node, SEPARATOR);
+        if (separator != -1 && !extendRight(line, anchor + 1, separator, position, length, letters, crossChecks, visitor)) {
+            return false;
+        }
+        
+        int next = position - 1;
+        if (next < 0 || length == MAX_LENGTH || line[next] != ' ') {
+            return true; // Out of the line, too long, or covering an occupied square that is an anchor itself
+        }
+        
+        int mask = graph[node] & WordGraph.CHILDREN_MASK;
+        for (int i = node + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            if (letter != SEPARATOR && canPlace(letter, next, letters, crossChecks)) {
+                line[next] = (char) ('A' + letter);
+                take(letters, letter, -1);
+                boolean result = extendLeft(line, anchor, next, graph[i], length + 1, letters, crossChecks, visitor);
+                take(letters, letter, 1);
+                line[next] = ' ';
+                if (!result) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Grows the right part of the word, which starts at <code>start</code> and will continue at <code>position</code>.
+     */
+    private boolean extendRight(char[] line, int position, int node, int start, int length, int[] letters,
+            int[] crossChecks, LineVisitor visitor) {
+        
+        int header = graph[node];
+        if ((header & WordGraph.TERMINAL) != 0 && !visitor.visit(line, start, length)) {
+            return false;
+        }
+        
+        if (position >= line.length || length == MAX_LENGTH) {
+            return true;
+        }
+        
+        if (line[position] != ' ') {
+            int index = line[position] - 'A';
+            int next = (index < 0 || index >= 26) ? -1 : WordGraph.child(graph, node, index);
+            return next == -1 || extendRight(line, position + 1, next, start, length + 1, letters, crossChecks, visitor);
+        }
+        
+        int mask = header & WordGraph.CHILDREN_MASK;
+        for (int i = node + WordGraph.HEADER_SIZE; mask != 0; i++, mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            if (letter != SEPARATOR && canPlace(letter, position, letters, crossChecks)) {
+                line[position] = (char) ('A' + letter);
+                take(letters, letter, -1);
+                boolean result = extendRight(line, position + 1, graph[i], start, length + 1, letters, crossChecks,
+                        visitor);
+                take(letters, letter, 1);
+                line[position] = ' ';
+                if (!result) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Evaluates if the specified letter is available and allowed on the specified empty square.
+     */
+    private static boolean canPlace(int letter, int position, int[] letters, int[] crossChecks) {
+        return (letters == null || letters[letter] > 0) && (crossChecks == null || (crossChecks[position] & 1 << letter) != 0);
+    }
+    
+    /**
+     * Adds the specified amount to the available letters, if they are counted.
+     */
+    private static void take(int[] letters, int letter, int amount) {
+        if (letters != null) {
+            letters[letter] += amount;
+        }
+    }
+}
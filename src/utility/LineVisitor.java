@@ -0,0 +1,22 @@
+package utility;
+
+/**
+ * Receives the words found on a line of the board by {@link Dictionary#giveMeWords(char[], int[], int, int, int[],
+ * LineVisitor)} or {@link Gaddag#giveMeWords(char[], int, int[], int[], LineVisitor)} one at a time, along with where
+ * they start.
+ *
+ */
+public interface LineVisitor {
+	
+	/**
+	 * Called for every word found.
+	 * <p>The line is used as the buffer of the query, so its contents are only valid during the call.</p>
+	 * 
+	 * @param line The line, with the word found written from <code>start</code>
+	 * @param start The index of the first letter of the word in the line
+	 * @param length The length of the word
+	 * @return <code>true</code> to keep searching, or <code>false</code> to stop the query
+	 */
+	public boolean visit(char[] line, int start, int length);
+
+}
@@ -0,0 +1,92 @@
+package utility;
+
+/**
+ * Encodes words of up to 7 letters in a single <code>long</code>, with 5 bits per letter. Letters are appended to the
+ * lower bits, so the first letter of the word ends up in the highest ones. Every letter is stored as a number from 1
+ * to 26, which keeps words of different lengths apart.
+ * <p>Words that are too long or have characters other than 'A' to 'Z' are encoded as {@link #INVALID}, which is
+ * never contained in a dictionary.</p>
+ *
+ */
+public final class PackedWord {
+	public static final long EMPTY = 0;
+	public static final long INVALID = -1;
+	public static final int MAX_LENGTH = 7;
+	private static final int BITS = 5;
+	private static final long FULL = 1L << (BITS * (MAX_LENGTH - 1)); // Packed words at or above this have 7 letters
+	
+	private PackedWord() {
+	}
+	
+	/**
+	 * Appends the specified letter to the end of a packed word
+	 * 
+	 * @param word The packed word
+	 * @param letter The letter to append
+	 * @return The packed word with the letter appended, or {@link #INVALID} if the word was already invalid or full,
+	 * or if the letter isn't one of 'A' to 'Z'
+	 */
+	public static long append(long word, char letter) {
+		if (word == INVALID || word >= FULL || letter < 'A' || letter > 'Z') {
+			return INVALID;
+		}
+		return (word << BITS) | (letter - 'A' + 1);
+	}
+	
+	/**
+	 * Packs the specified word
+	 * 
+	 * @param word The word to pack
+	 * @return The packed word, or {@link #INVALID} if it can't be packed
+	 */
+	public static long pack(String word) {
+		long result = EMPTY;
+		for (int i = 0; i < word.length(); i++) {
+			result = append(result, Character.toUpperCase(word.charAt(i)));
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns the amount of letters in the specified packed word, which must not be {@link #INVALID}
+	 */
+	public static int length(long word) {
+		return (Long.SIZE - Long.numberOfLeadingZeros(word) + BITS - 1) / BITS;
+	}
+	
+	/**
+	 * Returns the letter in the specified position of a packed word, which must not be {@link #INVALID}
+	 * 
+	 * @param word The packed word
+	 * @param index The position of the letter, from 0 to the word's length minus one
+	 * @return The letter
+	 */
+	public static char letter(long word, int index) {
+		return (char) ('A' - 1 + ((word >>> (BITS * (length(word) - 1 - index))) & ((1 << BITS) - 1)));
+	}
+	
+	/**
+	 * Unpacks the specified word, which must not be {@link #INVALID}
+	 */
+	public static String unpack(long word) {
+		char[] result = new char[length(word)];
+		unpack(word, result);
+		return String.valueOf(result);
+	}
+	
+	/**
+	 * Unpacks the specified word, which must not be {@link #INVALID}, into the start of a buffer
+	 * 
+	 * @param word The packed word
+	 * @param buffer The buffer to write the letters to, with room for them
+	 * @return The amount of letters written
+	 */
+	public static int unpack(long word, char[] buffer) {
+		int length = length(word);
+		for (int i = length - 1; i >= 0; i--, word >>>= BITS) {
+			buffer[i] = (char) ('A' + (word & ((1 << BITS) - 1)) - 1);
+		}
+		return length;
+	}
+
+}
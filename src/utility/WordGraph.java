@@ -0,0 +1,187 @@
+package utility;
+
+import general.BoardState;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared representation of the word graphs used by {@link Dictionary} and {@link Gaddag}. Words are first added to a
+ * trie of {@link LetterNode}s, which is then compiled into a flat <code>int</code> array. Each compiled node is stored as
+ * a header, with the children bitmask in the lower {@link #LETTERS} bits and the {@link #TERMINAL} flag, then the bounds
+ * of the words below it, followed by the offsets of its children sorted by letter. A node is referenced by the offset of
+ * its header.
+ * <p>The bounds hold, in the lower 16 bits, a mask with bit <i>k</i> set if a word ends <i>k</i> letters below the node,
+ * and in the upper 16 bits the highest {@link BoardState#LETTER_POINTS} total of the letters below the node on the way
+ * to the end of a word.</p>
+ */
+final class WordGraph {
+    /**
+     * Number of edge labels: the 26 letters plus the GADDAG separator.
+     */
+    static final int LETTERS = 27;
+    static final int TERMINAL = 1 << LETTERS;
+    static final int CHILDREN_MASK = TERMINAL - 1;
+    static final int HEADER_SIZE = 2; // Header and bounds
+    static final int LENGTHS_MASK = 0xFFFF;
+    static final int POINTS_SHIFT = 16;
+    
+    private WordGraph() {
+    }
+    
+    /**
+     * Returns the offset of the child of the specified graph node for the specified letter index, or -1 if there is none.
+     */
+    static int child(int[] graph, int node, int letter) {
+        int mask = graph[node];
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return -1;
+        }
+        return graph[node + HEADER_SIZE + Integer.bitCount(mask & (bit - 1))];
+    }
+    
+    /**
+     * Same as {@link #child(int[], int, int)}, for a graph held in a buffer.
+     */
+    static int child(IntBuffer graph, int node, int letter) {
+        int mask = graph.get(node);
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return -1;
+        }
+        return graph.get(node + HEADER_SIZE + Integer.bitCount(mask & (bit - 1)));
+    }
+    
+    
+    
+    /**
+     * Returns the points of the specified letter index, the separator has none.
+     */
+    static int points(int letter) {
+        return letter < BoardState.LETTER_POINTS.length ? BoardState.LETTER_POINTS[letter] : 0;
+    }
+    
+    
+    
+    /**
+     * Trie node. Instead of a map from letters to nodes, each node keeps a bitmask with one bit per letter ('A' is bit 0)
+     * and a dense array with only the existing children, sorted by letter. The child for a letter is found by counting the
+     * bits set below the letter's bit. Word endings are marked with a flag instead of a fake child.
+     */
+    static class LetterNode {
+        private static final LetterNode[] NO_CHILDREN = new LetterNode[0];
+        
+        int mask;
+        LetterNode[] children = NO_CHILDREN;
+        boolean terminal;
+        
+        /**
+         * Returns the child for the specified letter index, or <code>null</code> if there is none.
+         */
+        LetterNode child(int letter) {
+            int bit = 1 << letter;
+            if ((mask & bit) == 0) {
+                return null;
+            }
+            return children[Integer.bitCount(mask & (bit - 1))];
+        }
+        
+        /**
+         * Returns the child for the specified letter index, creating it if it doesn't exist.
+         */
+        LetterNode childOrNew(int letter) {
+            LetterNode child = child(letter);
+            if (child != null) {
+                return child;
+            }
+            int bit = 1 << letter;
+            int position = Integer.bitCount(mask & (bit - 1));
+            LetterNode[] aux = new LetterNode[children.length + 1];
+            System.arraycopy(children, 0, aux, 0, position);
+            System.arraycopy(children, position, aux, position + 1, children.length - position);
+            child = new LetterNode();
+            aux[position] = child;
+            children = aux;
+            mask |= bit;
+            return child;
+        }
+    }
+    
+    
+    
+    /**
+     * Lays out a trie in a flat array, bottom up, reusing the already written node for every node whose header and
+     * children are equal to it. Two such nodes accept the same set of suffixes, so the result is a minimized graph.
+     */
+    static class Builder {
+        private int[] graph = new int[1024];
+        private int size = 0;
+        private Map<Signature, Integer> registry = new HashMap<Signature, Integer>();
+        
+        /**
+         * Writes the specified trie and returns the offset of its root node.
+         */
+        int add(LetterNode node) {
+            int[] aux = new int[node.children.length + HEADER_SIZE];
+            aux[0] = node.mask | (node.terminal ? TERMINAL : 0);
+            int lengths = node.terminal ? 1 : 0, points = 0;
+            int mask = node.mask;
+            for (int i = 0; i < node.children.length; i++, mask &= mask - 1) {
+                int child = add(node.children[i]);
+                aux[i + HEADER_SIZE] = child;
+                lengths |= (graph[child + 1] & LENGTHS_MASK) << 1;
+                points = Math.max(points,
+                        points(Integer.numberOfTrailingZeros(mask)) + (graph[child + 1] >>> POINTS_SHIFT));
+            }
+            aux[1] = lengths | (points << POINTS_SHIFT);
+            
+            Signature signature = new Signature(aux);
+            Integer existing = registry.get(signature);
+            if (existing != null) {
+                return existing;
+            }
+            
+            if (size + aux.length > graph.length) {
+                graph = Arrays.copyOf(graph, Math.max(graph.length * 2, size + aux.length));
+            }
+            int offset = size;
+            System.arraycopy(aux, 0, graph, offset, aux.length);
+            size += aux.length;
+            registry.put(signature, offset);
+            return offset;
+        }
+        
+        int[] toArray() {
+            return Arrays.copyOf(graph, size);
+        }
+    }
+    
+    private static class Signature {
+        private final int[] values;
+        private final int hash;
+        
+        Signature(int[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != this.getClass()) {
+                return false;
+            }
+            return Arrays.equals(values, ((Signature) obj).values);
+        }
+    }
+}
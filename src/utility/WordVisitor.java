@@ -0,0 +1,19 @@
+package utility;
+
+/**
+ * Receives the words found by a dictionary query one at a time, without building a String or a collection for them.
+ *
+ */
+public interface WordVisitor {
+	
+	/**
+	 * Called for every word found.
+	 * <p>The buffer is reused by the query, so its contents are only valid during the call.</p>
+	 * 
+	 * @param word A buffer whose first <code>length</code> characters are the word found
+	 * @param length The length of the word
+	 * @return <code>true</code> to keep searching, or <code>false</code> to stop the query
+	 */
+	public boolean visit(char[] word, int length);
+
+}
@@ -0,0 +1,311 @@
+package utility;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Caches the words a {@link Dictionary} finds for each pattern of conditions and available letters, so that repeated
+ * queries don't walk the graph again. A query is keyed by two <code>long</code>s: the positions that have a condition,
+ * their letters and the maximum length in one, and how many of each letter are available in the other (the last few
+ * letters share the first). Only the letters a word could use count, so different racks often share the entry.
+ * <p>The words are found with the available letters, so the cache only keeps the words the query returns, packed (see
+ * {@link PackedWord}). The least recently used queries are dropped once the cache keeps more words than its size,
+ * counting each query as one more word. The cache isn't thread-safe, each solver should use its own.</p>
+ *
+ */
+public class WordsCache {
+	public static final int DEFAULT_SIZE = 1 << 16;
+	private static final long[] NO_WORDS = new long[0];
+	private static final int NONE = -1;
+	private static final int COUNT_BITS = 3; // Up to 7 of each letter, as many as a word can use
+	private static final int LOW_LETTERS = 64 / COUNT_BITS; // Letters counted in the second key
+	private static final int PATTERN_BITS = 3 + 6 * PackedWord.MAX_LENGTH; // Length, letters and positions
+
+	private final Dictionary dictionary;
+	private final int size;
+	private int stored; // Words kept, plus one per entry
+	private long hits, misses;
+	private final int[] letters = new int[26];
+	private final char[] buffer = new char[PackedWord.MAX_LENGTH];
+
+	// Entries by index, chained by bucket and linked from the least to the most recently used
+	private long[] patterns = new long[16], racks = new long[16];
+	private long[][] words = new long[16][];
+	private int[] next = new int[16], older = new int[16], newer = new int[16];
+	private int[] buckets = newBuckets(32);
+	private int entries, allocated, free = NONE, oldest = NONE, newest = NONE;
+
+	public WordsCache(Dictionary dictionary) {
+		this(dictionary, DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates an empty cache for the specified dictionary.
+	 *
+	 * @param dictionary The dictionary to query on misses
+	 * @param size The maximum amount of words to keep, counting each query kept as one more word
+	 * @throw IllegalArgumentException When the size isn't positive
+	 */
+	public WordsCache(Dictionary dictionary, int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("The cache size must be positive");
+		}
+		this.dictionary = dictionary;
+		this.size = size;
+	}
+
+	/**
+	 * Finds the same words as {@link Dictionary#giveMeWords(Collection, int[], int, WordVisitor)}, from the cache if
+	 * the same query was made before.
+	 *
+	 * @param wordConditions The conditions that the words must satisfy
+	 * @param letters How many of each letter ('A' to 'Z') are available, or <code>null</code> to find words regardless
+	 * of the available letters
+	 * @param maxLength The maximum length of the words
+	 * @param visitor The visitor that receives each word found
+	 * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+	 */
+	public boolean giveMeWords(Collection<WordCondition> wordConditions, int[] letters, int maxLength,
+			WordVisitor visitor) {
+		char[] conditions = new char[PackedWord.MAX_LENGTH];
+		return giveMeWords(Dictionary.positions(wordConditions, conditions), conditions, letters, maxLength, visitor);
+	}
+
+	/**
+	 * Finds the same words as {@link Dictionary#giveMeWords(int, char[], int[], int, WordVisitor)}, from the cache if
+	 * the same query was made before. Neither array is changed.
+	 *
+	 * @param positions A mask with the bit <i>n</i> set if there is a condition for the position <i>n</i>
+	 * @param conditions An array of 7 characters with the letter each position with a condition must have
+	 * @param letters How many of each letter ('A' to 'Z') are available, or <code>null</code> to find words regardless
+	 * of the available letters
+	 * @param maxLength The maximum length of the words
+	 * @param visitor The visitor that receives each word found
+	 * @return <code>true</code> if every word was visited, or <code>false</code> if the visitor stopped the search
+	 */
+	public boolean giveMeWords(int positions, char[] conditions, int[] letters, int maxLength, WordVisitor visitor) {
+		maxLength = Math.max(0, Math.min(maxLength, PackedWord.MAX_LENGTH));
+		positions &= (1 << PackedWord.MAX_LENGTH) - 1;
+		long pattern = maxLength | (long) positions << (3 + 5 * PackedWord.MAX_LENGTH);
+		for (int mask = positions; mask != 0; mask &= mask - 1) {
+			int position = Integer.numberOfTrailingZeros(mask);
+			char letter = conditions[position];
+			pattern |= (long) (letter >= 'A' && letter <= 'Z' ? letter - 'A' + 1 : 0) << (3 + 5 * position);
+		}
+
+		// A word takes at most one letter per free position, so more than that is the same as having no limit
+		int free = Math.max(0, maxLength - Integer.bitCount(positions & ((1 << maxLength) - 1)));
+		long rack = 0;
+		for (int i = 0; i < this.letters.length; i++) {
+			int count = letters == null ? free : Math.min(letters[i], free);
+			this.letters[i] = count;
+			if (i < LOW_LETTERS) {
+				rack |= (long) count << (COUNT_BITS * i);
+			}
+			else {
+				pattern |= (long) count << (PATTERN_BITS + COUNT_BITS * (i - LOW_LETTERS));
+			}
+		}
+
+		long[] found;
+		int entry = get(pattern, rack);
+		if (entry == NONE) {
+			misses++;
+			found = find(positions, conditions, maxLength);
+			put(pattern, rack, found);
+		}
+		else {
+			hits++;
+			found = words[entry];
+		}
+
+		for (long word : found) {
+			int length = PackedWord.unpack(word, buffer);
+			if (!visitor.visit(buffer, length)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private long[] find(int positions, char[] conditions, int maxLength) {
+		final long[][] found = {NO_WORDS};
+		final int[] size = {0};
+		dictionary.giveMeWords(positions, conditions.clone(), letters, maxLength, new WordVisitor() {
+			@Override
+			public boolean visit(char[] word, int length) {
+				long packed = PackedWord.EMPTY;
+				for (int i = 0; i < length; i++) {
+					packed = PackedWord.append(packed, word[i]);
+				}
+				if (size[0] == found[0].length) {
+					found[0] = Arrays.copyOf(found[0], Math.max(8, size[0] * 2));
+				}
+				found[0][size[0]++] = packed;
+				return true;
+			}
+		});
+		return size[0] == 0 ? NO_WORDS : Arrays.copyOf(found[0], size[0]);
+	}
+
+	/**
+	 * Returns the entry of the specified key, marking it as the most recently used, or {@link #NONE} if it isn't
+	 * cached.
+	 */
+	private int get(long pattern, long rack) {
+		for (int entry = buckets[bucket(pattern, rack, buckets.length)]; entry != NONE; entry = next[entry]) {
+			if (patterns[entry] == pattern && racks[entry] == rack) {
+				unlink(entry);
+				link(entry);
+				return entry;
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Keeps the words found for the specified key, dropping the least recently used entries to make room. Queries
+	 * with more words than the whole cache can keep aren't cached.
+	 */
+	private void put(long pattern, long rack, long[] found) {
+		int cost = found.length + 1;
+		if (cost > size) {
+			return;
+		}
+		while (stored + cost > size) {
+			remove(oldest);
+		}
+
+		int entry;
+		if (free != NONE) {
+			entry = free;
+			free = next[entry];
+		}
+		else {
+			if (allocated == patterns.length) {
+				grow();
+			}
+			entry = allocated++;
+		}
+		patterns[entry] = pattern;
+		racks[entry] = rack;
+		words[entry] = found;
+		int bucket = bucket(pattern, rack, buckets.length);
+		next[entry] = buckets[bucket];
+		buckets[bucket] = entry;
+		link(entry);
+		entries++;
+		stored += cost;
+		if (entries > buckets.length - (buckets.length >> 2)) {
+			rehash(buckets.length * 2);
+		}
+	}
+
+	private void remove(int entry) {
+		int bucket = bucket(patterns[entry], racks[entry], buckets.length);
+		if (buckets[bucket] == entry) {
+			buckets[bucket] = next[entry];
+		}
+		else {
+			int previous = buckets[bucket];
+			while (next[previous] != entry) {
+				previous = next[previous];
+			}
+			next[previous] = next[entry];
+		}
+		unlink(entry);
+		stored -= words[entry].length + 1;
+		words[entry] = null;
+		next[entry] = free;
+		free = entry;
+		entries--;
+	}
+
+	/**
+	 * Links the specified entry as the most recently used.
+	 */
+	private void link(int entry) {
+		older[entry] = newest;
+		newer[entry] = NONE;
+		if (newest == NONE) {
+			oldest = entry;
+		}
+		else {
+			newer[newest] = entry;
+		}
+		newest = entry;
+	}
+
+	private void unlink(int entry) {
+		if (older[entry] == NONE) {
+			oldest = newer[entry];
+		}
+		else {
+			newer[older[entry]] = newer[entry];
+		}
+		if (newer[entry] == NONE) {
+			newest = older[entry];
+		}
+		else {
+			older[newer[entry]] = older[entry];
+		}
+	}
+
+	private void grow() {
+		int capacity = patterns.length * 2;
+		patterns = Arrays.copyOf(patterns, capacity);
+		racks = Arrays.copyOf(racks, capacity);
+		words = Arrays.copyOf(words, capacity);
+		next = Arrays.copyOf(next, capacity);
+		older = Arrays.copyOf(older, capacity);
+		newer = Arrays.copyOf(newer, capacity);
+	}
+
+	private void rehash(int capacity) {
+		buckets = newBuckets(capacity);
+		for (int entry = oldest; entry != NONE; entry = newer[entry]) {
+			int bucket = bucket(patterns[entry], racks[entry], capacity);
+			next[entry] = buckets[bucket];
+			buckets[bucket] = entry;
+		}
+	}
+
+	private static int[] newBuckets(int capacity) {
+		int[] result = new int[capacity];
+		Arrays.fill(result, NONE);
+		return result;
+	}
+
+	/**
+	 * Returns the bucket of the specified key, in a table with a power of two of buckets.
+	 */
+	private static int bucket(long pattern, long rack, int capacity) {
+		long hash = (pattern * 0x9E3779B97F4A7C15L) ^ rack;
+		hash *= 0xC2B2AE3D27D4EB4FL;
+		return (int) (hash >>> 32) & (capacity - 1);
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the amount of queries cached.
+	 */
+	public int size() {
+		return entries;
+	}
+
+	/**
+	 * Returns the amount of words cached, counting each query as one more word. It's never more than the size the
+	 * cache was created with.
+	 */
+	public int words() {
+		return stored;
+	}
+
+}